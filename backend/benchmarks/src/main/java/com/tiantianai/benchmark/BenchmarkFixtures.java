@@ -0,0 +1,61 @@
+package com.tiantianai.benchmark;
+
+import com.tiantianai.shared.config.JwtProperties;
+import com.tiantianai.shared.util.JwtUtil;
+import com.tiantianai.user.model.Role;
+import com.tiantianai.user.repository.RoleRepository;
+import com.tiantianai.user.service.RoleRegistry;
+
+import java.lang.reflect.Proxy;
+import java.util.List;
+
+/**
+ * 基准测试共用的对象构建，不启动 Spring 容器
+ */
+final class BenchmarkFixtures {
+
+    static final long USER_ID = 10_001L;
+    static final String USERNAME = "vben";
+
+    private BenchmarkFixtures() {
+    }
+
+    static JwtProperties jwtProperties(boolean verifiedTokenCache) {
+        JwtProperties properties = new JwtProperties();
+        properties.setSecret("tiantianai-benchmark-secret-key-with-enough-length-for-hmac-sha");
+        properties.getCache().setEnabled(verifiedTokenCache);
+        return properties;
+    }
+
+    /**
+     * 角色字典：admin、user 两个角色，仓库由动态代理提供
+     */
+    static RoleRegistry roleRegistry() {
+        List<Role> roles = List.of(
+                Role.builder().id(1L).bit(0).code("admin").build(),
+                Role.builder().id(2L).bit(1).code("user").build());
+        RoleRepository repository = (RoleRepository) Proxy.newProxyInstance(
+                RoleRepository.class.getClassLoader(),
+                new Class<?>[]{RoleRepository.class},
+                (proxy, method, args) -> {
+                    if (method.getName().equals("findAll") && (args == null || args.length == 0)) {
+                        return roles;
+                    }
+                    throw new UnsupportedOperationException(method.getName());
+                });
+        RoleRegistry registry = new RoleRegistry(repository);
+        registry.load();
+        return registry;
+    }
+
+    static JwtUtil jwtUtil(JwtProperties properties, RoleRegistry roleRegistry) {
+        return new JwtUtil(properties, roleRegistry);
+    }
+
+    /**
+     * admin + user
+     */
+    static long roleMask(RoleRegistry roleRegistry) {
+        return roleRegistry.maskOfExisting(List.of("admin", "user"));
+    }
+}
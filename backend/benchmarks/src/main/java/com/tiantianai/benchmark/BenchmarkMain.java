@@ -0,0 +1,36 @@
+package com.tiantianai.benchmark;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+
+/**
+ * 基准测试入口
+ * 不带参数时运行全部基准，同时报告吞吐量与 GC 分配速率（gc.alloc.rate.norm 即每次操作分配字节数），
+ * 结果写入 jmh-result.json 便于版本间对比；带参数时按 JMH 原生命令行处理，例如
+ * {@code java -jar target/benchmarks.jar JwtUtilBenchmark -prof gc}
+ */
+public final class BenchmarkMain {
+
+    private BenchmarkMain() {
+    }
+
+    public static void main(String[] args) throws RunnerException, IOException {
+        if (args.length > 0) {
+            org.openjdk.jmh.Main.main(args);
+            return;
+        }
+        Options options = new OptionsBuilder()
+                .include("com\\.tiantianai\\.benchmark\\..*")
+                .addProfiler(GCProfiler.class)
+                .resultFormat(ResultFormatType.JSON)
+                .result("jmh-result.json")
+                .build();
+        new Runner(options).run();
+    }
+}
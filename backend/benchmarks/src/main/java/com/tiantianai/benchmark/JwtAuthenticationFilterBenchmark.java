@@ -0,0 +1,80 @@
+package com.tiantianai.benchmark;
+
+import com.tiantianai.shared.config.JwtProperties;
+import com.tiantianai.shared.security.JwtAuthenticationFilter;
+import com.tiantianai.shared.security.TokenDenylist;
+import com.tiantianai.shared.security.VerifiedTokenCache;
+import com.tiantianai.shared.util.JwtUtil;
+import com.tiantianai.user.service.RoleRegistry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.composite.CompositeMeterRegistry;
+import io.micrometer.prometheusmetrics.PrometheusConfig;
+import io.micrometer.prometheusmetrics.PrometheusMeterRegistry;
+import jakarta.servlet.ServletException;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JwtAuthenticationFilter 单次请求的认证开销
+ * verifiedTokenCache=true 为缓存命中路径，false 为每次验签；
+ * metrics=none 使用不挂载后端的空注册表，prometheus 为线上实际的计时开销
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtAuthenticationFilterBenchmark {
+
+    @Param({"true", "false"})
+    public boolean verifiedTokenCache;
+
+    @Param({"none", "prometheus"})
+    public String metrics;
+
+    private JwtAuthenticationFilter filter;
+    private String authorization;
+
+    @Setup
+    public void setUp() {
+        JwtProperties properties = BenchmarkFixtures.jwtProperties(verifiedTokenCache);
+        MeterRegistry meterRegistry = "prometheus".equals(metrics)
+                ? new PrometheusMeterRegistry(PrometheusConfig.DEFAULT)
+                : new CompositeMeterRegistry();
+        RoleRegistry roleRegistry = BenchmarkFixtures.roleRegistry();
+        JwtUtil jwtUtil = BenchmarkFixtures.jwtUtil(properties, roleRegistry);
+        filter = new JwtAuthenticationFilter(jwtUtil, properties,
+                new VerifiedTokenCache(properties, meterRegistry),
+                new TokenDenylist(properties, meterRegistry), meterRegistry);
+        authorization = properties.getTokenPrefix() + jwtUtil.generateToken(
+                BenchmarkFixtures.USER_ID, BenchmarkFixtures.USERNAME, BenchmarkFixtures.roleMask(roleRegistry));
+    }
+
+    @Benchmark
+    public Object authenticatedRequest() throws ServletException, IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/user/info");
+        request.addHeader("Authorization", authorization);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        try {
+            filter.doFilter(request, response, new MockFilterChain());
+            return SecurityContextHolder.getContext().getAuthentication();
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+
+    @Benchmark
+    public Object anonymousRequest() throws ServletException, IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/user/info");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+}
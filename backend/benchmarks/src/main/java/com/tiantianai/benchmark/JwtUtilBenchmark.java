@@ -0,0 +1,64 @@
+package com.tiantianai.benchmark;
+
+import com.tiantianai.shared.security.JwtPrincipal;
+import com.tiantianai.shared.util.JwtUtil;
+import com.tiantianai.user.service.RoleRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JwtUtil 签发、验签与声明读取
+ * 旧的 getXxxFromToken 每次都完整验签，与 parseToken 一次验签读取全部声明对照
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtUtilBenchmark {
+
+    private JwtUtil jwtUtil;
+    private long roleMask;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        RoleRegistry roleRegistry = BenchmarkFixtures.roleRegistry();
+        jwtUtil = BenchmarkFixtures.jwtUtil(BenchmarkFixtures.jwtProperties(true), roleRegistry);
+        roleMask = BenchmarkFixtures.roleMask(roleRegistry);
+        token = jwtUtil.generateToken(BenchmarkFixtures.USER_ID, BenchmarkFixtures.USERNAME, roleMask);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtUtil.generateToken(BenchmarkFixtures.USER_ID, BenchmarkFixtures.USERNAME, roleMask);
+    }
+
+    @Benchmark
+    public boolean validateToken() {
+        return jwtUtil.validateToken(token);
+    }
+
+    @Benchmark
+    public JwtPrincipal parseToken() {
+        return jwtUtil.parseToken(token);
+    }
+
+    @Benchmark
+    public String getUsernameFromToken() {
+        return jwtUtil.getUsernameFromToken(token);
+    }
+
+    @Benchmark
+    public Long getUserIdFromToken() {
+        return jwtUtil.getUserIdFromToken(token);
+    }
+
+    @Benchmark
+    public Set<String> getRolesFromToken() {
+        return jwtUtil.getRolesFromToken(token);
+    }
+}
@@ -0,0 +1,68 @@
+package com.tiantianai.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tiantianai.auth.dto.LoginResponse;
+import com.tiantianai.shared.common.Result;
+import com.tiantianai.shared.config.JacksonConfig;
+import com.tiantianai.user.dto.UserInfoResponse;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.Set;
+import java.util.TimeZone;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * /user/info 与 /auth/login 响应体的 JSON 序列化
+ * ObjectMapper 按 application.yml 的 spring.jackson 配置构建；
+ * path=default 为默认 Bean 序列化，optimized 加入 JacksonConfig 中的 Result 序列化器与 Blackbird。
+ * 分配量以 -prof gc 的 gc.alloc.rate.norm 对比
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ResultSerializationBenchmark {
+
+    @Param({"default", "optimized"})
+    public String path;
+
+    private ObjectMapper objectMapper;
+    private Result<UserInfoResponse> result;
+    private Result<LoginResponse> loginResult;
+
+    @Setup
+    public void setUp() {
+        Jackson2ObjectMapperBuilder builder = Jackson2ObjectMapperBuilder.json()
+                .timeZone(TimeZone.getTimeZone("Asia/Shanghai"))
+                .simpleDateFormat("yyyy-MM-dd HH:mm:ss");
+        if ("optimized".equals(path)) {
+            JacksonConfig jacksonConfig = new JacksonConfig();
+            builder.modulesToInstall(jacksonConfig.resultModule(), jacksonConfig.blackbirdModule());
+        }
+        objectMapper = builder.build();
+        result = Result.success(UserInfoResponse.builder()
+                .id(BenchmarkFixtures.USER_ID)
+                .username(BenchmarkFixtures.USERNAME)
+                .realName("Vben")
+                .homePath("/dashboard")
+                .roles(Set.of("admin", "user"))
+                .build());
+        loginResult = Result.success(LoginResponse.builder()
+                .accessToken("eyJhbGciOiJIUzUxMiJ9.eyJzdWIiOiJ2YmVuIn0.signature")
+                .build());
+    }
+
+    @Benchmark
+    public byte[] writeValueAsBytes() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(result);
+    }
+
+    @Benchmark
+    public byte[] writeLoginResponse() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(loginResult);
+    }
+}
@@ -0,0 +1,57 @@
+package com.tiantianai.loadtest;
+
+import com.tiantianai.TiantianaiApplication;
+import com.tiantianai.user.service.RoleRegistry;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.net.URI;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * 端到端压测入口
+ * 在本进程内以 loadtest profile 启动后端（内嵌 H2，MySQL 兼容模式），预置压测用户，
+ * 然后用虚拟线程客户端经真实 HTTP 驱动会话流程，输出各接口的延迟分布、吞吐量与错误数。
+ * <p>
+ * {@code java -jar target/loadtest.jar --users=5000 --clients=200 --duration=60 --threads=virtual --baseline=target/loadtest/report-xxx.json}
+ */
+public final class LoadTestMain {
+
+    private LoadTestMain() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options = LoadTestOptions.parse(args);
+
+        SpringApplication application = new SpringApplication(TiantianaiApplication.class);
+        application.setAdditionalProfiles("loadtest");
+        application.setDefaultProperties(Map.of(
+                "security.password-hash.strength", options.bcryptCost(),
+                "spring.threads.virtual.enabled", options.virtualThreads()));
+
+        try (ConfigurableApplicationContext context = application.run(options.springArgs())) {
+            new UserSeeder(context.getBean(JdbcTemplate.class),
+                    context.getBean(PasswordEncoder.class),
+                    context.getBean(RoleRegistry.class)).seed(options.users());
+
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            SessionLoadDriver driver = new SessionLoadDriver(URI.create("http://127.0.0.1:" + port), options);
+            LocalDateTime startedAt = LocalDateTime.now().withNano(0);
+            Duration measured = driver.run();
+
+            LoadTestReport report = LoadTestReport.of(options, startedAt, measured, driver.getStats());
+            report.print(System.out);
+            Path file = report.write(options.reportDir(), driver.getStats());
+            System.out.println("报告已写入 " + file.toAbsolutePath());
+            if (options.baseline() != null) {
+                report.printComparison(LoadTestReport.read(options.baseline()), System.out);
+            }
+        }
+    }
+}
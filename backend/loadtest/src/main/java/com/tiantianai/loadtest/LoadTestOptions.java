@@ -0,0 +1,83 @@
+package com.tiantianai.loadtest;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 压测参数
+ * 识别 --users、--clients、--duration、--warmup、--bcrypt-cost、--threads、--report-dir、--baseline，
+ * 其余参数原样交给 Spring（例如 --datasource.routing.enabled=true）
+ *
+ * @param users       预置的压测用户数
+ * @param clients     并发客户端数，每个客户端一个虚拟线程
+ * @param duration    计入统计的压测时长
+ * @param warmup      预热时长，期间的请求不计入统计
+ * @param bcryptCost  密码哈希 cost，与预置用户的哈希一致，避免登录触发重新哈希
+ * @param threads     后端处理请求的线程模型：platform（Tomcat 线程池）或 virtual（虚拟线程）
+ * @param reportDir   报告输出目录
+ * @param baseline    用于对比的历史报告，可为空
+ * @param springArgs  交给 Spring 的参数
+ */
+public record LoadTestOptions(int users,
+                              int clients,
+                              Duration duration,
+                              Duration warmup,
+                              int bcryptCost,
+                              String threads,
+                              Path reportDir,
+                              Path baseline,
+                              String[] springArgs) {
+
+    public static LoadTestOptions parse(String[] args) {
+        int users = 5_000;
+        int clients = 200;
+        Duration duration = Duration.ofSeconds(60);
+        Duration warmup = Duration.ofSeconds(10);
+        int bcryptCost = 10;
+        String threads = "platform";
+        Path reportDir = Path.of("target", "loadtest");
+        Path baseline = null;
+        List<String> springArgs = new ArrayList<>();
+
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            String name = separator > 0 ? arg.substring(0, separator) : arg;
+            String value = separator > 0 ? arg.substring(separator + 1) : "";
+            switch (name) {
+                case "--users" -> users = Integer.parseInt(value);
+                case "--clients" -> clients = Integer.parseInt(value);
+                case "--duration" -> duration = parseDuration(value);
+                case "--warmup" -> warmup = parseDuration(value);
+                case "--bcrypt-cost" -> bcryptCost = Integer.parseInt(value);
+                case "--threads" -> threads = value;
+                case "--report-dir" -> reportDir = Path.of(value);
+                case "--baseline" -> baseline = Path.of(value);
+                default -> springArgs.add(arg);
+            }
+        }
+        if (users < clients) {
+            throw new IllegalArgumentException("--users 不能少于 --clients");
+        }
+        if (!"platform".equals(threads) && !"virtual".equals(threads)) {
+            throw new IllegalArgumentException("--threads 只能是 platform 或 virtual");
+        }
+        return new LoadTestOptions(users, clients, duration, warmup, bcryptCost, threads, reportDir, baseline,
+                springArgs.toArray(new String[0]));
+    }
+
+    /**
+     * 是否以虚拟线程处理请求，对应 spring.threads.virtual.enabled
+     */
+    public boolean virtualThreads() {
+        return "virtual".equals(threads);
+    }
+
+    /**
+     * 支持 ISO-8601（PT30S）或秒数
+     */
+    private static Duration parseDuration(String value) {
+        return value.startsWith("P") ? Duration.parse(value) : Duration.ofSeconds(Long.parseLong(value));
+    }
+}
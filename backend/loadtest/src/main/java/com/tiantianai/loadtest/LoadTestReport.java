@@ -0,0 +1,139 @@
+package com.tiantianai.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 压测报告
+ * 以 JSON 保存便于不同版本之间对比，同时为每个接口输出 HdrHistogram 百分位分布（.hgrm）
+ *
+ * @param startedAt  压测开始时间
+ * @param users      预置用户数
+ * @param clients    并发客户端数
+ * @param seconds    统计时长（秒）
+ * @param bcryptCost 密码哈希 cost
+ * @param threads    后端线程模型（platform / virtual）
+ * @param java       Java 版本
+ * @param processors 可用处理器数
+ * @param endpoints  各接口统计
+ */
+public record LoadTestReport(String startedAt,
+                             int users,
+                             int clients,
+                             double seconds,
+                             int bcryptCost,
+                             String threads,
+                             String java,
+                             int processors,
+                             List<Endpoint> endpoints) {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper()
+            .enable(SerializationFeature.INDENT_OUTPUT);
+
+    /**
+     * 单个接口的统计，延迟单位毫秒
+     */
+    public record Endpoint(String name, long requests, long errors, double throughput,
+                           double mean, double p50, double p90, double p99, double p999, double max) {
+    }
+
+    public static LoadTestReport of(LoadTestOptions options, LocalDateTime startedAt, Duration measured,
+                                    Map<String, EndpointStats> stats) {
+        double seconds = measured.toNanos() / 1e9;
+        List<Endpoint> endpoints = stats.values().stream()
+                .map(endpoint -> {
+                    Histogram histogram = endpoint.getHistogram();
+                    return new Endpoint(endpoint.getName(),
+                            histogram.getTotalCount(),
+                            endpoint.getErrors(),
+                            histogram.getTotalCount() / seconds,
+                            histogram.getMean() / 1000.0,
+                            millis(histogram, 50),
+                            millis(histogram, 90),
+                            millis(histogram, 99),
+                            millis(histogram, 99.9),
+                            histogram.getMaxValue() / 1000.0);
+                })
+                .toList();
+        return new LoadTestReport(startedAt.toString(), options.users(), options.clients(), seconds,
+                options.bcryptCost(), options.threads(), System.getProperty("java.version"),
+                Runtime.getRuntime().availableProcessors(), endpoints);
+    }
+
+    public static LoadTestReport read(Path file) throws IOException {
+        return OBJECT_MAPPER.readValue(file.toFile(), LoadTestReport.class);
+    }
+
+    /**
+     * 写入 report-时间.json 与各接口的 .hgrm 文件
+     *
+     * @return JSON 报告路径
+     */
+    public Path write(Path dir, Map<String, EndpointStats> stats) throws IOException {
+        Files.createDirectories(dir);
+        String suffix = LocalDateTime.parse(startedAt).format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss"));
+        Path report = dir.resolve("report-" + suffix + ".json");
+        OBJECT_MAPPER.writeValue(report.toFile(), this);
+        for (EndpointStats endpoint : stats.values()) {
+            String fileName = endpoint.getName().replaceAll("[^A-Za-z0-9]+", "_").replaceAll("^_|_$", "");
+            try (PrintStream out = new PrintStream(Files.newOutputStream(dir.resolve(fileName + "-" + suffix + ".hgrm")))) {
+                // 直方图以微秒记录，按毫秒输出
+                endpoint.getHistogram().outputPercentileDistribution(out, 1000.0);
+            }
+        }
+        return report;
+    }
+
+    public void print(PrintStream out) {
+        out.printf("%n%d 个客户端, %d 个用户, 统计 %.1f 秒, BCrypt cost %d, %s 线程, Java %s, %d CPU%n",
+                clients, users, seconds, bcryptCost, threads, java, processors);
+        out.printf("%-18s %9s %7s %9s %8s %8s %8s %8s %8s%n",
+                "endpoint", "requests", "errors", "req/s", "p50", "p90", "p99", "p99.9", "max");
+        for (Endpoint e : endpoints) {
+            out.printf("%-18s %9d %7d %9.1f %8.2f %8.2f %8.2f %8.2f %8.2f%n",
+                    e.name(), e.requests(), e.errors(), e.throughput(), e.p50(), e.p90(), e.p99(), e.p999(), e.max());
+        }
+        out.println("（延迟单位 ms）");
+    }
+
+    /**
+     * 与基线报告对比吞吐量与 p99，正数表示提升
+     */
+    public void printComparison(LoadTestReport baseline, PrintStream out) {
+        Map<String, Endpoint> before = baseline.endpoints().stream()
+                .collect(Collectors.toMap(Endpoint::name, Function.identity()));
+        out.printf("%n对比基线 %s（%s 线程）%n", baseline.startedAt(), baseline.threads());
+        out.printf("%-18s %10s %10s %10s %10s%n", "endpoint", "req/s", "Δ req/s", "p99", "Δ p99");
+        for (Endpoint e : endpoints) {
+            Endpoint b = before.get(e.name());
+            if (Objects.isNull(b)) {
+                continue;
+            }
+            out.printf("%-18s %10.1f %+9.1f%% %10.2f %+9.1f%%%n",
+                    e.name(), e.throughput(), change(b.throughput(), e.throughput()),
+                    e.p99(), -change(b.p99(), e.p99()));
+        }
+    }
+
+    private static double change(double before, double after) {
+        return before == 0 ? 0 : (after - before) / before * 100;
+    }
+
+    private static double millis(Histogram histogram, double percentile) {
+        return histogram.getValueAtPercentile(percentile) / 1000.0;
+    }
+}
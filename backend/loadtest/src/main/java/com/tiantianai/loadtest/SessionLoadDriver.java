@@ -0,0 +1,163 @@
+package com.tiantianai.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 会话流程压测驱动
+ * 每个客户端是一个虚拟线程，循环执行 登录 → 用户信息 → 权限码 → 登出。
+ * 客户端为闭环模型（上一个请求返回后才发下一个），延迟不含协调遗漏修正。
+ */
+@Slf4j
+public class SessionLoadDriver {
+
+    static final String LOGIN = "POST /auth/login";
+    static final String USER_INFO = "GET /user/info";
+    static final String ACCESS_CODES = "GET /auth/codes";
+    static final String LOGOUT = "POST /auth/logout";
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    private final URI baseUri;
+    private final LoadTestOptions options;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Map<String, EndpointStats> stats = new LinkedHashMap<>();
+    private final AtomicLong nextUser = new AtomicLong();
+
+    private HttpClient httpClient;
+    private volatile long deadline;
+
+    public SessionLoadDriver(URI baseUri, LoadTestOptions options) {
+        this.baseUri = baseUri;
+        this.options = options;
+        for (String endpoint : new String[]{LOGIN, USER_INFO, ACCESS_CODES, LOGOUT}) {
+            stats.put(endpoint, new EndpointStats(endpoint));
+        }
+    }
+
+    /**
+     * 预热后清空统计，再压测指定时长
+     *
+     * @return 实际统计时长
+     */
+    public Duration run() throws InterruptedException {
+        // HttpClient 的内部任务使用独立的执行器，客户端执行器关闭时不影响在途请求
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor();
+             ExecutorService httpExecutor = Executors.newVirtualThreadPerTaskExecutor()) {
+            httpClient = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .connectTimeout(Duration.ofSeconds(5))
+                    .executor(httpExecutor)
+                    .build();
+
+            long startedAt = System.nanoTime();
+            deadline = startedAt + options.warmup().plus(options.duration()).toNanos();
+            for (int i = 0; i < options.clients(); i++) {
+                clients.execute(this::runClient);
+            }
+
+            log.info("预热 {} 秒，{} 个并发客户端", options.warmup().toSeconds(), options.clients());
+            Thread.sleep(options.warmup().toMillis());
+            stats.values().forEach(EndpointStats::reset);
+            long measuringFrom = System.nanoTime();
+            log.info("开始统计，持续 {} 秒", options.duration().toSeconds());
+
+            clients.shutdown();
+            clients.awaitTermination(options.duration().toSeconds() + REQUEST_TIMEOUT.toSeconds() * 2,
+                    TimeUnit.SECONDS);
+            Duration measured = Duration.ofNanos(Math.min(System.nanoTime(), deadline) - measuringFrom);
+            httpClient.shutdownNow();
+            return measured;
+        }
+    }
+
+    public Map<String, EndpointStats> getStats() {
+        return stats;
+    }
+
+    private void runClient() {
+        while (System.nanoTime() < deadline) {
+            String username = UserSeeder.username((int) (nextUser.getAndIncrement() % options.users()));
+            try {
+                runSession(username);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private void runSession(String username) throws InterruptedException {
+        String loginBody = "{\"username\":\"" + username + "\",\"password\":\"" + UserSeeder.PASSWORD + "\"}";
+        HttpResponse<String> login = send(LOGIN, HttpRequest.newBuilder(baseUri.resolve("/auth/login"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(loginBody)));
+        if (login == null) {
+            return;
+        }
+        String authorization;
+        try {
+            JsonNode body = objectMapper.readTree(login.body());
+            authorization = "Bearer " + body.path("data").path("accessToken").asText();
+        } catch (Exception e) {
+            return;
+        }
+        String refreshCookie = login.headers().firstValue("Set-Cookie")
+                .map(cookie -> cookie.substring(0, cookie.indexOf(';') > 0 ? cookie.indexOf(';') : cookie.length()))
+                .orElse(null);
+
+        send(USER_INFO, HttpRequest.newBuilder(baseUri.resolve("/user/info"))
+                .header("Authorization", authorization)
+                .GET());
+        send(ACCESS_CODES, HttpRequest.newBuilder(baseUri.resolve("/auth/codes"))
+                .header("Authorization", authorization)
+                .GET());
+
+        HttpRequest.Builder logout = HttpRequest.newBuilder(baseUri.resolve("/auth/logout"))
+                .header("Authorization", authorization)
+                .POST(HttpRequest.BodyPublishers.noBody());
+        if (refreshCookie != null) {
+            logout.header("Cookie", refreshCookie);
+        }
+        send(LOGOUT, logout);
+    }
+
+    /**
+     * 发送请求并记录延迟，HTTP 2xx 且业务码为 200 视为成功
+     *
+     * @return 成功时的响应，失败返回 null
+     */
+    private HttpResponse<String> send(String endpoint, HttpRequest.Builder request) throws InterruptedException {
+        long startedAt = System.nanoTime();
+        HttpResponse<String> response = null;
+        try {
+            response = httpClient.send(request.timeout(REQUEST_TIMEOUT).build(), HttpResponse.BodyHandlers.ofString());
+        } catch (InterruptedException e) {
+            throw e;
+        } catch (Exception e) {
+            log.debug("{} 请求失败: {}", endpoint, e.toString());
+        }
+        long finishedAt = System.nanoTime();
+        boolean success = response != null
+                && response.statusCode() / 100 == 2
+                && response.body().startsWith("{\"code\":200");
+        // 统计窗口结束后完成的请求不再计入
+        if (finishedAt <= deadline) {
+            stats.get(endpoint).record(finishedAt - startedAt, success);
+        }
+        return success ? response : null;
+    }
+}
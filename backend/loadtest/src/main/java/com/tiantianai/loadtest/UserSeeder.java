@@ -0,0 +1,55 @@
+package com.tiantianai.loadtest;
+
+import com.tiantianai.user.service.RoleRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 批量预置压测用户
+ * 所有用户共用同一个密码哈希，只计算一次
+ */
+@Slf4j
+public class UserSeeder {
+
+    static final String PASSWORD = "123456";
+
+    private static final int BATCH_SIZE = 1_000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final PasswordEncoder passwordEncoder;
+    private final RoleRegistry roleRegistry;
+
+    public UserSeeder(JdbcTemplate jdbcTemplate, PasswordEncoder passwordEncoder, RoleRegistry roleRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.passwordEncoder = passwordEncoder;
+        this.roleRegistry = roleRegistry;
+    }
+
+    static String username(int index) {
+        return String.format("load%06d", index);
+    }
+
+    public void seed(int users) {
+        String hash = passwordEncoder.encode(PASSWORD);
+        long roleMask = roleRegistry.maskOf(Set.of("user"));
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+
+        List<Object[]> batch = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < users; i++) {
+            batch.add(new Object[]{username(i), hash, "压测用户" + i, "/workspace", roleMask, now, now});
+            if (batch.size() == BATCH_SIZE || i == users - 1) {
+                jdbcTemplate.batchUpdate("INSERT INTO users (username, password, real_name, home_path, role_mask, "
+                        + "enabled, version, created_at, updated_at) VALUES (?, ?, ?, ?, ?, TRUE, 0, ?, ?)", batch);
+                batch.clear();
+            }
+        }
+        log.info("已预置 {} 个压测用户", users);
+    }
+}
@@ -0,0 +1,41 @@
+package com.tiantianai.audit.controller;
+
+import com.tiantianai.audit.model.SecurityEvent;
+import com.tiantianai.audit.service.SecurityEventJournal;
+import com.tiantianai.shared.common.Result;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * 安全事件查询控制器
+ */
+@RestController
+@RequestMapping("/audit")
+@RequiredArgsConstructor
+public class SecurityEventController {
+
+    private final SecurityEventJournal securityEventJournal;
+
+    /**
+     * 按用户与时间范围查询安全事件
+     * 时间为 ISO-8601 格式，如 2024-01-01T00:00:00Z，to 不包含
+     */
+    @GetMapping("/events")
+    @PreAuthorize("hasRole('admin')")
+    public Result<List<SecurityEvent>> events(@RequestParam(required = false) Long userId,
+                                              @RequestParam(required = false)
+                                              @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant from,
+                                              @RequestParam(required = false)
+                                              @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant to,
+                                              @RequestParam(defaultValue = "100") int limit) {
+        return Result.success(securityEventJournal.query(userId, from, to, limit));
+    }
+}
@@ -0,0 +1,14 @@
+package com.tiantianai.audit.model;
+
+import java.time.Instant;
+
+/**
+ * 安全事件
+ *
+ * @param occurredAt 发生时间（毫秒精度）
+ * @param userId     用户 ID，未知用户为 0
+ * @param type       事件类型
+ * @param ip         客户端 IP，未知时为 null
+ */
+public record SecurityEvent(Instant occurredAt, long userId, SecurityEventType type, String ip) {
+}
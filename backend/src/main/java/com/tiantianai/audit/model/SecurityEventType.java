@@ -0,0 +1,38 @@
+package com.tiantianai.audit.model;
+
+/**
+ * 安全事件类型
+ * 日志文件中按 code 存储，新增类型只能追加新的 code
+ */
+public enum SecurityEventType {
+
+    LOGIN_SUCCESS(1),
+    LOGIN_FAILURE(2),
+    LOGOUT(3),
+    TOKEN_REFRESH(4);
+
+    private static final SecurityEventType[] BY_CODE = new SecurityEventType[16];
+
+    static {
+        for (SecurityEventType type : values()) {
+            BY_CODE[type.code] = type;
+        }
+    }
+
+    private final byte code;
+
+    SecurityEventType(int code) {
+        this.code = (byte) code;
+    }
+
+    public byte code() {
+        return code;
+    }
+
+    /**
+     * 由存储的 code 获取类型，未知 code 返回 null
+     */
+    public static SecurityEventType of(byte code) {
+        return code > 0 && code < BY_CODE.length ? BY_CODE[code] : null;
+    }
+}
@@ -0,0 +1,205 @@
+package com.tiantianai.audit.service;
+
+import com.tiantianai.audit.model.SecurityEvent;
+import com.tiantianai.audit.model.SecurityEventType;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.zip.CRC32;
+
+/**
+ * 安全事件日志段文件
+ * 文件预先分配为固定大小并整体映射到内存，头部之后是定长记录：
+ * <pre>
+ *  0  long   发生时间（毫秒），0 表示空位
+ *  8  long   用户 ID
+ * 16  byte   事件类型
+ * 17  byte   IP 长度
+ * 18  byte[39] IP（ASCII，可容纳 IPv6 文本）
+ * 57  byte[3]  保留
+ * 60  int    前 60 字节的 CRC32
+ * </pre>
+ * 只有写线程追加，记录写完后才递增 volatile 的记录数，读取方只访问已发布的记录。
+ * 打开已有段时从头校验，遇到空位或校验失败即为末尾，进程崩溃时写了一半的记录会被丢弃
+ */
+final class JournalSegment {
+
+    static final String FILE_PREFIX = "events-";
+    static final String FILE_SUFFIX = ".seg";
+
+    static final int MAGIC = 0x53454A31;
+    static final int HEADER_SIZE = 16;
+    static final int RECORD_SIZE = 64;
+
+    private static final int MAX_IP_LENGTH = 39;
+    private static final int CHECKSUM_OFFSET = 60;
+
+    private final Path path;
+    private final long createdAt;
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+    private final int capacity;
+
+    private volatile int count;
+
+    private JournalSegment(Path path, long createdAt, FileChannel channel, MappedByteBuffer buffer) {
+        this.path = path;
+        this.createdAt = createdAt;
+        this.channel = channel;
+        this.buffer = buffer;
+        this.capacity = (buffer.capacity() - HEADER_SIZE) / RECORD_SIZE;
+    }
+
+    /**
+     * 创建新段文件
+     */
+    static JournalSegment create(Path directory, long createdAt, long size) throws IOException {
+        Path path = directory.resolve(fileName(createdAt));
+        FileChannel channel = FileChannel.open(path,
+                StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+        buffer.putInt(0, MAGIC);
+        buffer.putInt(4, RECORD_SIZE);
+        buffer.putLong(8, createdAt);
+        // 头部立即落盘：否则崩溃后可能留下全零头部的段文件
+        buffer.force(0, HEADER_SIZE);
+        return new JournalSegment(path, createdAt, channel, buffer);
+    }
+
+    /**
+     * 打开已有段文件并恢复记录数
+     */
+    static JournalSegment open(Path path) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, channel.size());
+            if (buffer.capacity() < HEADER_SIZE || buffer.getInt(0) != MAGIC || buffer.getInt(4) != RECORD_SIZE) {
+                throw new IOException("不是有效的安全事件段文件: " + path);
+            }
+            JournalSegment segment = new JournalSegment(path, buffer.getLong(8), channel, buffer);
+            segment.recover();
+            return segment;
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    static String fileName(long createdAt) {
+        return String.format("%s%013d%s", FILE_PREFIX, createdAt, FILE_SUFFIX);
+    }
+
+    /**
+     * 找到第一条无效记录作为末尾，并清除其后残留的旧数据，避免之后被误认为有效记录
+     */
+    private void recover() {
+        CRC32 crc = new CRC32();
+        int valid = 0;
+        while (valid < capacity && isValid(valid, crc)) {
+            valid++;
+        }
+        for (int i = valid; i < capacity && buffer.getLong(offset(i)) != 0; i++) {
+            for (int j = 0; j < RECORD_SIZE; j += Long.BYTES) {
+                buffer.putLong(offset(i) + j, 0);
+            }
+        }
+        count = valid;
+    }
+
+    private boolean isValid(int index, CRC32 crc) {
+        int offset = offset(index);
+        return buffer.getLong(offset) != 0 && buffer.getInt(offset + CHECKSUM_OFFSET) == checksum(offset, crc);
+    }
+
+    /**
+     * 追加一条记录，仅由写线程调用
+     */
+    void append(SecurityEvent event, CRC32 crc) {
+        int index = count;
+        int offset = offset(index);
+        buffer.putLong(offset, event.occurredAt().toEpochMilli());
+        buffer.putLong(offset + 8, event.userId());
+        buffer.put(offset + 16, event.type().code());
+        String ip = event.ip();
+        int ipLength = 0;
+        if (ip != null) {
+            ipLength = Math.min(ip.length(), MAX_IP_LENGTH);
+            for (int i = 0; i < ipLength; i++) {
+                buffer.put(offset + 18 + i, (byte) ip.charAt(i));
+            }
+        }
+        buffer.put(offset + 17, (byte) ipLength);
+        buffer.putInt(offset + CHECKSUM_OFFSET, checksum(offset, crc));
+        count = index + 1;
+    }
+
+    /**
+     * 读取已发布的记录
+     */
+    SecurityEvent read(int index) {
+        int offset = offset(index);
+        SecurityEventType type = SecurityEventType.of(buffer.get(offset + 16));
+        int ipLength = buffer.get(offset + 17);
+        String ip = null;
+        if (ipLength > 0) {
+            byte[] bytes = new byte[ipLength];
+            buffer.get(offset + 18, bytes);
+            ip = new String(bytes, StandardCharsets.US_ASCII);
+        }
+        return new SecurityEvent(Instant.ofEpochMilli(buffer.getLong(offset)), buffer.getLong(offset + 8), type, ip);
+    }
+
+    /**
+     * 读取记录的发生时间，按时间筛选时避免构造对象
+     */
+    long timestampAt(int index) {
+        return buffer.getLong(offset(index));
+    }
+
+    /**
+     * 读取记录的用户 ID
+     */
+    long userIdAt(int index) {
+        return buffer.getLong(offset(index) + 8);
+    }
+
+    private int checksum(int offset, CRC32 crc) {
+        crc.reset();
+        crc.update(buffer.slice(offset, CHECKSUM_OFFSET));
+        return (int) crc.getValue();
+    }
+
+    private static int offset(int index) {
+        return HEADER_SIZE + index * RECORD_SIZE;
+    }
+
+    boolean isFull() {
+        return count >= capacity;
+    }
+
+    int count() {
+        return count;
+    }
+
+    long createdAt() {
+        return createdAt;
+    }
+
+    Path path() {
+        return path;
+    }
+
+    void force() {
+        buffer.force();
+    }
+
+    void close() throws IOException {
+        channel.close();
+    }
+}
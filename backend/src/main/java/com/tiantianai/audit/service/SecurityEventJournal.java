@@ -0,0 +1,292 @@
+package com.tiantianai.audit.service;
+
+import com.tiantianai.audit.model.SecurityEvent;
+import com.tiantianai.audit.model.SecurityEventType;
+import com.tiantianai.shared.config.AuditJournalProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * 安全事件日志
+ * 请求线程只把事件放入有界队列（不等待，队列满时丢弃并计数），
+ * 由单个写线程追加到内存映射的段文件；段文件按大小与时间切换，超过保留时长的段整体删除。
+ * 启动时恢复已有段，最后一个段继续写入
+ */
+@Slf4j
+public class SecurityEventJournal {
+
+    /**
+     * 队列为空时写线程的等待时间，也是按时间切换段和刷盘检查的间隔
+     */
+    private static final long POLL_INTERVAL_MILLIS = 200;
+
+    /**
+     * 事件入队与写入之间的时间差上限，按时间筛选段时放宽此范围
+     */
+    private static final long SEGMENT_TIME_SLACK_MILLIS = Duration.ofMinutes(1).toMillis();
+
+    /**
+     * 单次查询返回的最大条数
+     */
+    public static final int MAX_QUERY_LIMIT = 1000;
+
+    /**
+     * 无法读取的段文件改名时追加的后缀
+     */
+    static final String CORRUPT_SUFFIX = ".corrupt";
+
+    private final AuditJournalProperties properties;
+    private final Clock clock;
+    private final BlockingQueue<SecurityEvent> queue;
+    private final List<JournalSegment> segments = new CopyOnWriteArrayList<>();
+    private final CRC32 crc = new CRC32();
+
+    private final Counter appendedCounter;
+    private final Counter droppedCounter;
+
+    private Thread writer;
+    private volatile boolean running;
+
+    /**
+     * 以下字段只由写线程访问
+     */
+    private JournalSegment active;
+    private boolean dirty;
+    private long lastForcedAt;
+
+    public SecurityEventJournal(AuditJournalProperties properties, Clock clock, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.clock = clock;
+        this.queue = new ArrayBlockingQueue<>(properties.getQueueCapacity());
+        this.appendedCounter = Counter.builder("audit.journal.events")
+                .description("写入安全事件日志的事件数")
+                .register(meterRegistry);
+        this.droppedCounter = Counter.builder("audit.journal.dropped")
+                .description("队列已满被丢弃的安全事件数")
+                .register(meterRegistry);
+        Gauge.builder("audit.journal.queue.size", queue, BlockingQueue::size)
+                .description("等待写入的安全事件数")
+                .register(meterRegistry);
+        Gauge.builder("audit.journal.segments", segments, List::size)
+                .description("安全事件日志段文件数")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 恢复已有段并启动写线程
+     */
+    public void start() throws IOException {
+        if (!properties.isEnabled()) {
+            log.info("安全事件日志未启用");
+            return;
+        }
+        Path directory = properties.getDirectory();
+        Files.createDirectories(directory);
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path path : files.filter(SecurityEventJournal::isSegmentFile).sorted().toList()) {
+                try {
+                    segments.add(JournalSegment.open(path));
+                } catch (IOException e) {
+                    quarantine(path, e);
+                }
+            }
+        }
+        long now = clock.millis();
+        removeExpired(now);
+        active = segments.isEmpty() ? null : segments.get(segments.size() - 1);
+        rotateIfNeeded(now);
+        lastForcedAt = now;
+        log.info("安全事件日志已启动，{} 个段，当前段 {} 条记录", segments.size(), active.count());
+
+        running = true;
+        writer = new Thread(this::runWriter, "audit-journal-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    /**
+     * 写完队列中剩余事件后停止写线程并刷盘
+     */
+    public void stop() throws IOException, InterruptedException {
+        if (writer == null) {
+            return;
+        }
+        running = false;
+        writer.join(TimeUnit.SECONDS.toMillis(10));
+        for (JournalSegment segment : segments) {
+            segment.force();
+            segment.close();
+        }
+        segments.clear();
+        writer = null;
+    }
+
+    /**
+     * 记录安全事件，不阻塞调用线程
+     *
+     * @param userId 用户 ID，未知时传 null
+     * @param ip     客户端 IP，可为 null
+     * @return 是否已放入队列，未启用或队列已满时返回 false
+     */
+    public boolean record(SecurityEventType type, Long userId, String ip) {
+        if (!running) {
+            return false;
+        }
+        SecurityEvent event = new SecurityEvent(Instant.ofEpochMilli(clock.millis()),
+                userId != null ? userId : 0L, type, ip);
+        if (queue.offer(event)) {
+            return true;
+        }
+        droppedCounter.increment();
+        return false;
+    }
+
+    /**
+     * 按用户与时间范围扫描事件，按写入顺序返回
+     *
+     * @param userId 用户 ID，为 null 时不按用户筛选
+     * @param from   起始时间（包含），为 null 时不限
+     * @param to     结束时间（不包含），为 null 时不限
+     * @param limit  最多返回条数，不超过 {@link #MAX_QUERY_LIMIT}
+     */
+    public List<SecurityEvent> query(Long userId, Instant from, Instant to, int limit) {
+        long fromMillis = from != null ? from.toEpochMilli() : Long.MIN_VALUE;
+        long toMillis = to != null ? to.toEpochMilli() : Long.MAX_VALUE;
+        int max = Math.min(Math.max(limit, 1), MAX_QUERY_LIMIT);
+
+        List<SecurityEvent> result = new ArrayList<>();
+        List<JournalSegment> snapshot = List.copyOf(segments);
+        for (int i = 0; i < snapshot.size() && result.size() < max; i++) {
+            JournalSegment segment = snapshot.get(i);
+            // 段内事件的时间不早于本段创建时间减去入队延迟，不晚于下一段的创建时间
+            long segmentEnd = i + 1 < snapshot.size() ? snapshot.get(i + 1).createdAt() : Long.MAX_VALUE;
+            if (segment.createdAt() - SEGMENT_TIME_SLACK_MILLIS >= toMillis || segmentEnd < fromMillis) {
+                continue;
+            }
+            int count = segment.count();
+            for (int index = 0; index < count && result.size() < max; index++) {
+                long timestamp = segment.timestampAt(index);
+                if (timestamp < fromMillis || timestamp >= toMillis) {
+                    continue;
+                }
+                if (userId != null && segment.userIdAt(index) != userId) {
+                    continue;
+                }
+                result.add(segment.read(index));
+            }
+        }
+        return result;
+    }
+
+    private void runWriter() {
+        while (running || !queue.isEmpty()) {
+            SecurityEvent event;
+            try {
+                event = queue.poll(POLL_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            long now = clock.millis();
+            try {
+                rotateIfNeeded(now);
+            } catch (IOException | UncheckedIOException e) {
+                log.error("安全事件段切换失败: {}", e.getMessage());
+            }
+            if (event != null && active.isFull()) {
+                // 切换新段失败（如磁盘已满），丢弃并计数
+                droppedCounter.increment();
+            } else if (event != null) {
+                active.append(event, crc);
+                appendedCounter.increment();
+                dirty = true;
+            }
+            if (dirty && now - lastForcedAt >= properties.getForceInterval().toMillis()) {
+                active.force();
+                dirty = false;
+                lastForcedAt = now;
+            }
+        }
+    }
+
+    /**
+     * 当前段写满或超过使用时间时切换新段，并清理过期段
+     */
+    private void rotateIfNeeded(long now) throws IOException {
+        if (active != null && !active.isFull()
+                && now - active.createdAt() < properties.getRotationInterval().toMillis()) {
+            return;
+        }
+        if (active != null) {
+            active.force();
+            dirty = false;
+        }
+        // 同一毫秒内切换时顺延，保证文件名与创建时间递增
+        long createdAt = active != null ? Math.max(now, active.createdAt() + 1) : now;
+        JournalSegment segment = JournalSegment.create(
+                properties.getDirectory(), createdAt, segmentFileSize());
+        segments.add(segment);
+        active = segment;
+        removeExpired(now);
+    }
+
+    /**
+     * 删除事件全部早于保留时长的段，当前段始终保留
+     */
+    private void removeExpired(long now) {
+        long cutoff = now - properties.getRetention().toMillis();
+        while (segments.size() > 1 && segments.get(1).createdAt() < cutoff) {
+            JournalSegment expired = segments.remove(0);
+            try {
+                expired.close();
+                Files.deleteIfExists(expired.path());
+                log.info("已删除过期的安全事件段 {}", expired.path().getFileName());
+            } catch (IOException e) {
+                log.warn("删除安全事件段 {} 失败: {}", expired.path(), e.getMessage());
+            }
+        }
+    }
+
+    private long segmentFileSize() {
+        long records = Math.max(1, (properties.getSegmentSize().toBytes() - JournalSegment.HEADER_SIZE)
+                / JournalSegment.RECORD_SIZE);
+        return JournalSegment.HEADER_SIZE + records * JournalSegment.RECORD_SIZE;
+    }
+
+    /**
+     * 无法打开的段（如头部未落盘的全零文件）改名后跳过，保留文件供排查，不影响启动
+     */
+    private static void quarantine(Path path, IOException cause) {
+        Path target = path.resolveSibling(path.getFileName() + CORRUPT_SUFFIX);
+        try {
+            Files.move(path, target, StandardCopyOption.REPLACE_EXISTING);
+            log.warn("跳过无法读取的安全事件段，已改名为 {}: {}", target.getFileName(), cause.getMessage());
+        } catch (IOException e) {
+            log.warn("跳过无法读取的安全事件段 {}，改名失败: {}", path.getFileName(), e.getMessage());
+        }
+    }
+
+    private static boolean isSegmentFile(Path path) {
+        String name = path.getFileName().toString();
+        return name.startsWith(JournalSegment.FILE_PREFIX) && name.endsWith(JournalSegment.FILE_SUFFIX);
+    }
+}
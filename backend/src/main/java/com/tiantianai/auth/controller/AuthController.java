@@ -1,14 +1,37 @@
 package com.tiantianai.auth.controller;
 
+import com.tiantianai.audit.model.SecurityEventType;
+import com.tiantianai.audit.service.SecurityEventJournal;
 import com.tiantianai.auth.dto.LoginRequest;
 import com.tiantianai.auth.dto.LoginResponse;
+import com.tiantianai.auth.dto.RevokeTokenRequest;
+import com.tiantianai.auth.dto.SessionBootstrapResponse;
 import com.tiantianai.auth.service.AuthService;
+import com.tiantianai.auth.service.RefreshTokenService;
+import com.tiantianai.auth.service.TokenRevocationService;
 import com.tiantianai.shared.common.Result;
+import com.tiantianai.shared.config.JwtProperties;
+import com.tiantianai.shared.exception.ErrorCode;
+import com.tiantianai.shared.security.JwtPrincipal;
+import com.tiantianai.shared.util.ETagUtil;
+import com.tiantianai.shared.util.JwtUtil;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.security.core.Authentication;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseCookie;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.util.StringUtils;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+
+import java.time.Duration;
 
 /**
  * 认证控制器
@@ -20,13 +43,23 @@ import org.springframework.web.bind.annotation.*;
 public class AuthController {
 
     private final AuthService authService;
+    private final RefreshTokenService refreshTokenService;
+    private final TokenRevocationService tokenRevocationService;
+    private final JwtUtil jwtUtil;
+    private final JwtProperties jwtProperties;
+    private final SecurityEventJournal securityEventJournal;
 
     /**
      * 用户登录
+     * bootstrap=true 时随登录结果一并返回会话初始化数据
      */
     @PostMapping("/login")
-    public Result<LoginResponse> login(@Valid @RequestBody LoginRequest request) {
-        LoginResponse response = authService.login(request);
+    public Result<LoginResponse> login(@Valid @RequestBody LoginRequest request,
+                                       @RequestParam(defaultValue = "false") boolean bootstrap,
+                                       HttpServletRequest servletRequest,
+                                       HttpServletResponse servletResponse) {
+        LoginResponse response = authService.login(request, servletRequest.getRemoteAddr(), bootstrap);
+        writeRefreshCookie(servletResponse, response.getRefreshToken());
         return Result.success(response);
     }
 
@@ -34,29 +67,105 @@ public class AuthController {
      * 用户登出
      */
     @PostMapping("/logout")
-    public Result<Void> logout() {
-        // JWT 是无状态的，登出由前端清除 token 即可
-        // 如果需要实现 token 黑名单，可以在这里添加逻辑
+    public Result<Void> logout(@AuthenticationPrincipal JwtPrincipal principal,
+                               HttpServletRequest servletRequest,
+                               HttpServletResponse servletResponse,
+                               @CookieValue(name = "${jwt.refresh.cookie-name:refresh_token}", required = false)
+                               String refreshToken) {
+        // 吊销当前访问令牌及其刷新令牌家族
+        if (principal != null) {
+            tokenRevocationService.revoke(principal);
+        }
+        if (StringUtils.hasText(refreshToken)) {
+            refreshTokenService.revokeFamily(refreshToken);
+        }
+        writeRefreshCookie(servletResponse, "", Duration.ZERO);
+        securityEventJournal.record(SecurityEventType.LOGOUT,
+                principal != null ? principal.getUserId() : null, servletRequest.getRemoteAddr());
+        return Result.success();
+    }
+
+    /**
+     * 管理员强制吊销 Token
+     * 已过期的令牌本身不再可用，直接视为吊销成功
+     */
+    @PostMapping("/revoke")
+    @PreAuthorize("hasRole('admin')")
+    public Result<Void> revoke(@Valid @RequestBody RevokeTokenRequest request) {
+        JwtPrincipal target;
+        try {
+            target = jwtUtil.parseToken(request.getToken());
+        } catch (ExpiredJwtException e) {
+            return Result.success();
+        } catch (JwtException | IllegalArgumentException e) {
+            throw ErrorCode.TOKEN_INVALID.exception();
+        }
+        tokenRevocationService.revoke(target);
         return Result.success();
     }
 
     /**
      * 获取权限码
+     * 支持 If-None-Match，权限未变更时直接返回 304
      */
     @GetMapping("/codes")
-    public Result<String[]> getAccessCodes(Authentication authentication) {
-        // 从认证信息中获取用户 ID
-        Long userId = Long.parseLong(authentication.getName());
-        String[] codes = authService.getAccessCodes(userId);
-        return Result.success(codes);
+    public ResponseEntity<Result<String[]>> getAccessCodes(@AuthenticationPrincipal JwtPrincipal principal,
+                                                           WebRequest webRequest) {
+        String eTag = authService.getAccessCodesETag(principal.getUserId());
+        if (webRequest.checkNotModified(eTag)) {
+            return null;
+        }
+        String[] codes = authService.getAccessCodes(principal.getUserId());
+        return ETagUtil.ok(eTag, Result.success(codes));
+    }
+
+    /**
+     * 会话初始化
+     * 合并 /user/info、/auth/codes 与 /menu/all，减少登录后的请求往返
+     */
+    @GetMapping("/bootstrap")
+    public ResponseEntity<Result<SessionBootstrapResponse>> bootstrap(@AuthenticationPrincipal JwtPrincipal principal,
+                                                                      WebRequest webRequest) {
+        String eTag = authService.getBootstrapETag(principal.getUserId());
+        if (webRequest.checkNotModified(eTag)) {
+            return null;
+        }
+        return ETagUtil.ok(eTag, Result.success(authService.bootstrap(principal.getUserId())));
     }
 
     /**
      * 刷新 Token
-     * 暂时返回成功，后续可以实现 refresh token 机制
+     * 从 HttpOnly Cookie 读取刷新令牌，轮换后返回新的访问令牌
      */
     @PostMapping("/refresh")
-    public Result<String> refreshToken() {
-        return Result.success("Token refreshed");
+    public Result<String> refreshToken(HttpServletRequest servletRequest,
+                                       HttpServletResponse servletResponse,
+                                       @CookieValue(name = "${jwt.refresh.cookie-name:refresh_token}", required = false)
+                                       String refreshToken) {
+        if (!StringUtils.hasText(refreshToken)) {
+            throw ErrorCode.REFRESH_TOKEN_INVALID.exception();
+        }
+        LoginResponse response = authService.refresh(refreshToken, servletRequest.getRemoteAddr());
+        writeRefreshCookie(servletResponse, response.getRefreshToken());
+        return Result.success(response.getAccessToken());
+    }
+
+    /**
+     * 写入刷新令牌 Cookie
+     */
+    private void writeRefreshCookie(HttpServletResponse response, String refreshToken) {
+        writeRefreshCookie(response, refreshToken, Duration.ofMillis(jwtProperties.getRefresh().getExpiration()));
+    }
+
+    private void writeRefreshCookie(HttpServletResponse response, String refreshToken, Duration maxAge) {
+        JwtProperties.Refresh refresh = jwtProperties.getRefresh();
+        ResponseCookie cookie = ResponseCookie.from(refresh.getCookieName(), refreshToken)
+                .httpOnly(true)
+                .secure(refresh.isCookieSecure())
+                .sameSite("Strict")
+                .path("/")
+                .maxAge(maxAge)
+                .build();
+        response.addHeader(HttpHeaders.SET_COOKIE, cookie.toString());
     }
 }
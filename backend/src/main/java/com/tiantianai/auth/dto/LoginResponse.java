@@ -1,5 +1,7 @@
 package com.tiantianai.auth.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -18,4 +20,16 @@ public class LoginResponse {
      * 访问令牌
      */
     private String accessToken;
+
+    /**
+     * 刷新令牌，由 Controller 写入 HttpOnly Cookie，不出现在响应体中
+     */
+    @JsonIgnore
+    private String refreshToken;
+
+    /**
+     * 会话初始化数据，仅在登录请求携带 bootstrap=true 时返回
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private SessionBootstrapResponse bootstrap;
 }
@@ -0,0 +1,14 @@
+package com.tiantianai.auth.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import lombok.Data;
+
+/**
+ * 吊销 Token 请求 DTO
+ */
+@Data
+public class RevokeTokenRequest {
+
+    @NotBlank(message = "Token 不能为空")
+    private String token;
+}
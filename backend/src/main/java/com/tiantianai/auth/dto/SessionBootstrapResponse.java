@@ -0,0 +1,36 @@
+package com.tiantianai.auth.dto;
+
+import com.tiantianai.menu.dto.MenuResponse;
+import com.tiantianai.user.dto.UserInfoResponse;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 会话初始化响应 DTO
+ * 一次返回前端登录后所需的用户信息、权限码与菜单
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SessionBootstrapResponse {
+
+    /**
+     * 用户信息
+     */
+    private UserInfoResponse userInfo;
+
+    /**
+     * 权限码
+     */
+    private String[] accessCodes;
+
+    /**
+     * 当前用户可见的菜单树
+     */
+    private List<MenuResponse> menus;
+}
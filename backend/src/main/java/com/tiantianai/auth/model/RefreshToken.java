@@ -0,0 +1,74 @@
+package com.tiantianai.auth.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * 刷新令牌实体类
+ * 只保存令牌的 SHA-256 摘要；同一次登录派生出的令牌共享 familyId，
+ * 检测到重放时整个家族一起吊销
+ */
+@Entity
+@Table(name = "refresh_tokens",
+        indexes = {
+                @Index(name = "uk_refresh_tokens_token_hash", columnList = "tokenHash", unique = true),
+                @Index(name = "idx_refresh_tokens_family_id", columnList = "familyId"),
+                @Index(name = "idx_refresh_tokens_user_id", columnList = "userId")
+        })
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RefreshToken {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /**
+     * 令牌摘要（Base64URL 编码的 SHA-256）
+     */
+    @Column(nullable = false, length = 64)
+    private String tokenHash;
+
+    /**
+     * 令牌家族 ID，同一次登录轮换出的令牌相同
+     */
+    @Column(nullable = false, length = 36)
+    private String familyId;
+
+    /**
+     * 所属用户 ID
+     */
+    @Column(nullable = false)
+    private Long userId;
+
+    /**
+     * 过期时间
+     */
+    @Column(nullable = false)
+    private LocalDateTime expiresAt;
+
+    /**
+     * 使用（轮换）时间，非空表示已被消费
+     */
+    private LocalDateTime usedAt;
+
+    /**
+     * 吊销时间
+     */
+    private LocalDateTime revokedAt;
+
+    /**
+     * 创建时间
+     */
+    @CreationTimestamp
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+}
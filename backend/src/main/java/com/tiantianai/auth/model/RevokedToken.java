@@ -0,0 +1,49 @@
+package com.tiantianai.auth.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * 已吊销的访问令牌
+ * 启动时据此重建内存吊销名单，过期后的记录会被定期清理
+ */
+@Entity
+@Table(name = "revoked_tokens",
+        indexes = @Index(name = "idx_revoked_tokens_expires_at", columnList = "expiresAt"))
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RevokedToken {
+
+    /**
+     * Token ID（jti）
+     */
+    @Id
+    @Column(length = 36)
+    private String tokenId;
+
+    /**
+     * 所属用户 ID
+     */
+    private Long userId;
+
+    /**
+     * Token 原本的过期时间
+     */
+    @Column(nullable = false)
+    private LocalDateTime expiresAt;
+
+    /**
+     * 吊销时间
+     */
+    @CreationTimestamp
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime revokedAt;
+}
@@ -0,0 +1,55 @@
+package com.tiantianai.auth.repository;
+
+import com.tiantianai.auth.model.RefreshToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * 刷新令牌数据访问接口
+ */
+@Repository
+public interface RefreshTokenRepository extends JpaRepository<RefreshToken, Long> {
+
+    /**
+     * 根据令牌摘要查找（唯一索引）
+     */
+    Optional<RefreshToken> findByTokenHash(String tokenHash);
+
+    /**
+     * 原子地将令牌标记为已使用
+     * 返回 0 表示令牌已被使用或已吊销
+     */
+    @Modifying
+    @Query("update RefreshToken t set t.usedAt = :now " +
+            "where t.id = :id and t.usedAt is null and t.revokedAt is null")
+    int markUsed(@Param("id") Long id, @Param("now") LocalDateTime now);
+
+    /**
+     * 吊销整个令牌家族
+     */
+    @Modifying
+    @Query("update RefreshToken t set t.revokedAt = :now " +
+            "where t.familyId = :familyId and t.revokedAt is null")
+    int revokeFamily(@Param("familyId") String familyId, @Param("now") LocalDateTime now);
+
+    /**
+     * 吊销用户的全部刷新令牌
+     */
+    @Modifying
+    @Query("update RefreshToken t set t.revokedAt = :now " +
+            "where t.userId = :userId and t.revokedAt is null")
+    int revokeByUserId(@Param("userId") Long userId, @Param("now") LocalDateTime now);
+
+    /**
+     * 删除已过期的令牌
+     */
+    @Modifying
+    @Query("delete from RefreshToken t where t.expiresAt < :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+}
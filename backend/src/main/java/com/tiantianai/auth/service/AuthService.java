@@ -1,16 +1,21 @@
 package com.tiantianai.auth.service;
 
+import com.tiantianai.audit.model.SecurityEventType;
+import com.tiantianai.audit.service.SecurityEventJournal;
 import com.tiantianai.auth.dto.LoginRequest;
 import com.tiantianai.auth.dto.LoginResponse;
-import com.tiantianai.shared.exception.BusinessException;
+import com.tiantianai.auth.dto.SessionBootstrapResponse;
+import com.tiantianai.menu.service.MenuService;
+import com.tiantianai.shared.exception.ErrorCode;
+import com.tiantianai.shared.security.PasswordHashExecutor;
 import com.tiantianai.shared.util.JwtUtil;
-import com.tiantianai.user.model.User;
+import com.tiantianai.user.dto.UserCredentials;
 import com.tiantianai.user.repository.UserRepository;
+import com.tiantianai.user.service.UserProfileCache;
+import com.tiantianai.user.service.UserService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 /**
  * 认证服务
@@ -21,46 +26,145 @@ import org.springframework.transaction.annotation.Transactional;
 public class AuthService {
 
     private final UserRepository userRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHashExecutor passwordHashExecutor;
     private final JwtUtil jwtUtil;
+    private final RefreshTokenService refreshTokenService;
+    private final LoginThrottle loginThrottle;
+    private final UserService userService;
+    private final MenuService menuService;
+    private final LoginMetrics loginMetrics;
+    private final SecurityEventJournal securityEventJournal;
 
     /**
      * 用户登录
+     * 不开启事务，避免在等待密码哈希期间占用数据库连接；
+     * 用户只按投影查询所需字段，不加载实体
+     *
+     * @param bootstrap 是否同时返回会话初始化数据
      */
-    @Transactional(readOnly = true)
-    public LoginResponse login(LoginRequest request) {
+    public LoginResponse login(LoginRequest request, String clientIp, boolean bootstrap) {
+        // 限流检查，先于数据库查询和密码哈希
+        loginThrottle.acquire(request.getUsername(), clientIp);
+
         // 查找用户
-        User user = userRepository.findByUsername(request.getUsername())
-                .orElseThrow(() -> new BusinessException("用户名或密码错误"));
+        UserCredentials user = userRepository.findCredentialsByUsername(request.getUsername())
+                .orElse(null);
 
-        // 验证密码
-        if (!passwordEncoder.matches(request.getPassword(), user.getPassword())) {
-            throw new BusinessException("用户名或密码错误");
+        // 验证密码（在独立的哈希线程池中执行）
+        if (user == null || !passwordHashExecutor.matches(request.getPassword(), user.password())) {
+            loginThrottle.recordFailure(request.getUsername());
+            loginMetrics.badCredentials();
+            securityEventJournal.record(SecurityEventType.LOGIN_FAILURE, user != null ? user.id() : null, clientIp);
+            throw ErrorCode.BAD_CREDENTIALS.exception();
         }
+        loginThrottle.recordSuccess(request.getUsername());
 
         // 检查账号是否启用
-        if (!user.getEnabled()) {
-            throw new BusinessException("账号已被禁用");
+        if (!user.enabled()) {
+            loginMetrics.disabled();
+            securityEventJournal.record(SecurityEventType.LOGIN_FAILURE, user.id(), clientIp);
+            throw ErrorCode.ACCOUNT_DISABLED.exception();
         }
 
+        // 哈希参数与当前配置不一致时后台重新哈希
+        rehashIfNeeded(user, request.getPassword());
+
         // 生成 JWT Token
-        String token = jwtUtil.generateToken(user.getId(), user.getUsername(), user.getRoles());
+        String token = jwtUtil.generateToken(user.id(), user.username(), user.roleMask());
+        String refreshToken = refreshTokenService.issue(user.id());
 
-        log.info("用户 {} 登录成功", user.getUsername());
+        loginMetrics.success();
+        securityEventJournal.record(SecurityEventType.LOGIN_SUCCESS, user.id(), clientIp);
+        log.info("用户 {} 登录成功", user.username());
 
         return LoginResponse.builder()
                 .accessToken(token)
+                .refreshToken(refreshToken)
+                .bootstrap(bootstrap ? toBootstrap(userService.getProfile(user.id())) : null)
+                .build();
+    }
+
+    /**
+     * 存储的哈希 cost 低于当前目标或算法不同时，在低优先级的重新哈希线程池中重新生成并写回
+     */
+    private void rehashIfNeeded(UserCredentials user, String rawPassword) {
+        if (!passwordHashExecutor.needsRehash(user.password())) {
+            return;
+        }
+        Long userId = user.id();
+        String oldPassword = user.password();
+        passwordHashExecutor.rehashAsync(rawPassword)
+                .thenAccept(newPassword -> {
+                    if (userRepository.updatePassword(userId, oldPassword, newPassword) > 0) {
+                        log.info("用户 {} 的密码哈希已按当前配置更新", userId);
+                    }
+                })
+                .exceptionally(e -> {
+                    log.debug("用户 {} 的密码重新哈希已跳过: {}", userId, e.getMessage());
+                    return null;
+                });
+    }
+
+    /**
+     * 使用刷新令牌换取新的访问令牌
+     * 只需一次令牌轮换和一次按主键查询用户，不涉及密码哈希
+     *
+     * @param clientIp 客户端 IP，记录到安全事件日志
+     */
+    public LoginResponse refresh(String refreshToken, String clientIp) {
+        RefreshTokenService.Rotation rotation = refreshTokenService.rotate(refreshToken);
+
+        UserCredentials user = userRepository.findCredentialsById(rotation.userId())
+                .orElseThrow(ErrorCode.USER_NOT_FOUND::exception);
+
+        if (!user.enabled()) {
+            refreshTokenService.revokeAllForUser(user.id());
+            throw ErrorCode.ACCOUNT_DISABLED.exception();
+        }
+
+        String token = jwtUtil.generateToken(user.id(), user.username(), user.roleMask());
+        securityEventJournal.record(SecurityEventType.TOKEN_REFRESH, user.id(), clientIp);
+
+        return LoginResponse.builder()
+                .accessToken(token)
+                .refreshToken(rotation.refreshToken())
                 .build();
     }
 
     /**
      * 获取权限码列表
      */
-    @Transactional(readOnly = true)
     public String[] getAccessCodes(Long userId) {
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new BusinessException("用户不存在"));
+        return userService.getAccessCodes(userId);
+    }
+
+    /**
+     * 权限码的 ETag，与用户数据版本一致
+     */
+    public String getAccessCodesETag(Long userId) {
+        return userService.getETag(userId);
+    }
+
+    /**
+     * 会话初始化数据的 ETag，由用户数据版本与菜单版本组合
+     */
+    public String getBootstrapETag(Long userId) {
+        UserProfileCache.Entry profile = userService.getProfile(userId);
+        return profile.eTag() + "." + menuService.getETag(profile.userInfo().getRoles());
+    }
+
+    /**
+     * 会话初始化：一次加载用户，返回用户信息、权限码与菜单
+     */
+    public SessionBootstrapResponse bootstrap(Long userId) {
+        return toBootstrap(userService.getProfile(userId));
+    }
 
-        return user.getRoles().toArray(new String[0]);
+    private SessionBootstrapResponse toBootstrap(UserProfileCache.Entry profile) {
+        return SessionBootstrapResponse.builder()
+                .userInfo(profile.userInfo())
+                .accessCodes(profile.accessCodes().clone())
+                .menus(menuService.getMenus(profile.userInfo().getRoles()))
+                .build();
     }
 }
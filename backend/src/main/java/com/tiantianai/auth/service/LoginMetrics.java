@@ -0,0 +1,42 @@
+package com.tiantianai.auth.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+/**
+ * 登录结果计数（auth.login，按 outcome 区分）
+ * 被限流与哈希线程池拒绝的请求分别由 login.throttle.blocked 与 password.hash.rejected 计数
+ */
+@Component
+public class LoginMetrics {
+
+    private final Counter success;
+    private final Counter badCredentials;
+    private final Counter disabled;
+
+    public LoginMetrics(MeterRegistry meterRegistry) {
+        this.success = counter("success", meterRegistry);
+        this.badCredentials = counter("bad_credentials", meterRegistry);
+        this.disabled = counter("disabled", meterRegistry);
+    }
+
+    private static Counter counter(String outcome, MeterRegistry meterRegistry) {
+        return Counter.builder("auth.login")
+                .description("登录请求结果")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    public void success() {
+        success.increment();
+    }
+
+    public void badCredentials() {
+        badCredentials.increment();
+    }
+
+    public void disabled() {
+        disabled.increment();
+    }
+}
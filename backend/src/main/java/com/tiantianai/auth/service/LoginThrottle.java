@@ -0,0 +1,107 @@
+package com.tiantianai.auth.service;
+
+import com.tiantianai.shared.config.LoginThrottleProperties;
+import com.tiantianai.shared.exception.ErrorCode;
+import com.tiantianai.shared.exception.TooManyRequestsException;
+import com.tiantianai.shared.logging.LogSampler;
+import com.tiantianai.shared.security.SlidingWindowLimiter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+
+/**
+ * 登录防暴力破解限流
+ * 在查询数据库和计算密码哈希之前，按客户端 IP（全部尝试）与用户名（失败次数）拒绝请求
+ */
+@Slf4j
+@Component
+public class LoginThrottle {
+
+    /**
+     * 暴力破解时每次尝试都会被拒绝，拒绝日志按采样输出，总数见 login.throttle.blocked
+     */
+    private static final LogSampler BLOCKED_LOG_SAMPLER = LogSampler.perSecond(10);
+
+    private final boolean enabled;
+    private final SlidingWindowLimiter ipLimiter;
+    private final SlidingWindowLimiter usernameLimiter;
+    private final Counter ipBlocked;
+    private final Counter usernameBlocked;
+
+    public LoginThrottle(LoginThrottleProperties properties, MeterRegistry meterRegistry) {
+        this.enabled = properties.isEnabled();
+        this.ipLimiter = new SlidingWindowLimiter(
+                properties.getIpWindow(), properties.getIpMaxAttempts(), properties.getMaximumKeys());
+        this.usernameLimiter = new SlidingWindowLimiter(
+                properties.getUsernameWindow(), properties.getUsernameMaxFailures(), properties.getMaximumKeys());
+
+        this.ipBlocked = Counter.builder("login.throttle.blocked")
+                .tag("scope", "ip")
+                .description("因限流被拒绝的登录尝试")
+                .register(meterRegistry);
+        this.usernameBlocked = Counter.builder("login.throttle.blocked")
+                .tag("scope", "username")
+                .description("因限流被拒绝的登录尝试")
+                .register(meterRegistry);
+        Gauge.builder("login.throttle.tracked", ipLimiter, SlidingWindowLimiter::trackedKeys)
+                .tag("scope", "ip")
+                .register(meterRegistry);
+        Gauge.builder("login.throttle.tracked", usernameLimiter, SlidingWindowLimiter::trackedKeys)
+                .tag("scope", "username")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 登录前检查并记录一次 IP 尝试
+     *
+     * @throws TooManyRequestsException IP 或用户名已超过限制
+     */
+    public void acquire(String username, String clientIp) {
+        if (!enabled) {
+            return;
+        }
+        if (clientIp != null) {
+            if (ipLimiter.isLimited(clientIp)) {
+                ipBlocked.increment();
+                if (BLOCKED_LOG_SAMPLER.tryAcquire()) {
+                    log.warn("IP {} 登录尝试过于频繁，已拒绝", clientIp);
+                }
+                throw ErrorCode.LOGIN_ATTEMPTS_EXCEEDED.exception();
+            }
+            ipLimiter.record(clientIp);
+        }
+        if (usernameLimiter.isLimited(normalize(username))) {
+            usernameBlocked.increment();
+            if (BLOCKED_LOG_SAMPLER.tryAcquire()) {
+                log.warn("用户 {} 登录失败次数过多，已拒绝", username);
+            }
+            throw ErrorCode.LOGIN_FAILURES_EXCEEDED.exception();
+        }
+    }
+
+    /**
+     * 记录一次登录失败
+     */
+    public void recordFailure(String username) {
+        if (enabled) {
+            usernameLimiter.record(normalize(username));
+        }
+    }
+
+    /**
+     * 登录成功后清除该用户名的失败计数
+     */
+    public void recordSuccess(String username) {
+        if (enabled) {
+            usernameLimiter.reset(normalize(username));
+        }
+    }
+
+    private static String normalize(String username) {
+        return username.toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,189 @@
+package com.tiantianai.auth.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.tiantianai.auth.model.RefreshToken;
+import com.tiantianai.auth.repository.RefreshTokenRepository;
+import com.tiantianai.shared.config.JwtProperties;
+import com.tiantianai.shared.exception.BusinessException;
+import com.tiantianai.shared.exception.ErrorCode;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * 刷新令牌服务
+ * 刷新令牌为随机不透明字符串，数据库只保存摘要。每次刷新都会轮换出新令牌，
+ * 旧令牌被再次使用即视为泄露，整个令牌家族随之吊销。
+ */
+@Slf4j
+@Service
+public class RefreshTokenService {
+
+    private static final SecureRandom SECURE_RANDOM = new SecureRandom();
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final JwtProperties.Refresh properties;
+
+    /**
+     * 新签发令牌的快照，命中时刷新无需再按摘要查询
+     */
+    private final Cache<String, Entry> issuedTokens;
+
+    public RefreshTokenService(RefreshTokenRepository refreshTokenRepository, JwtProperties jwtProperties) {
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.properties = jwtProperties.getRefresh();
+        this.issuedTokens = Caffeine.newBuilder()
+                .maximumSize(properties.getCacheSize())
+                .expireAfterWrite(Duration.ofMillis(properties.getExpiration()))
+                .build();
+    }
+
+    /**
+     * 登录时签发新的令牌家族
+     *
+     * @return 原始刷新令牌
+     */
+    @Transactional
+    public String issue(Long userId) {
+        return issue(userId, UUID.randomUUID().toString());
+    }
+
+    /**
+     * 轮换刷新令牌
+     * 校验通过后旧令牌被标记为已使用并签发同家族的新令牌；
+     * 若旧令牌已被使用或已吊销，吊销整个家族
+     */
+    @Transactional(noRollbackFor = BusinessException.class)
+    public Rotation rotate(String rawToken) {
+        String tokenHash = hash(rawToken);
+        Entry entry = issuedTokens.getIfPresent(tokenHash);
+        if (entry == null) {
+            entry = refreshTokenRepository.findByTokenHash(tokenHash)
+                    .map(Entry::of)
+                    .orElseThrow(ErrorCode.REFRESH_TOKEN_INVALID::exception);
+        }
+        issuedTokens.invalidate(tokenHash);
+
+        LocalDateTime now = LocalDateTime.now();
+        if (entry.expiresAt().isBefore(now)) {
+            throw ErrorCode.REFRESH_TOKEN_EXPIRED.exception();
+        }
+
+        if (refreshTokenRepository.markUsed(entry.id(), now) == 0) {
+            // 令牌已被使用或已吊销，视为重放攻击
+            int revoked = refreshTokenRepository.revokeFamily(entry.familyId(), now);
+            log.warn("检测到刷新令牌重放，用户 {} 的令牌家族 {} 已吊销 {} 个令牌",
+                    entry.userId(), entry.familyId(), revoked);
+            throw ErrorCode.REFRESH_TOKEN_REUSED.exception();
+        }
+
+        String newToken = issue(entry.userId(), entry.familyId());
+        return new Rotation(entry.userId(), newToken);
+    }
+
+    /**
+     * 吊销令牌所属的整个家族（登出）
+     */
+    @Transactional
+    public void revokeFamily(String rawToken) {
+        String tokenHash = hash(rawToken);
+        issuedTokens.invalidate(tokenHash);
+        refreshTokenRepository.findByTokenHash(tokenHash)
+                .ifPresent(token -> refreshTokenRepository.revokeFamily(token.getFamilyId(), LocalDateTime.now()));
+    }
+
+    /**
+     * 吊销用户的全部刷新令牌
+     */
+    @Transactional
+    public void revokeAllForUser(Long userId) {
+        issuedTokens.asMap().values().removeIf(entry -> entry.userId().equals(userId));
+        refreshTokenRepository.revokeByUserId(userId, LocalDateTime.now());
+    }
+
+    /**
+     * 定期清理过期令牌
+     */
+    @Scheduled(fixedDelayString = "PT1H", initialDelayString = "PT5M")
+    @Transactional
+    public void purgeExpired() {
+        int deleted = refreshTokenRepository.deleteExpired(LocalDateTime.now());
+        if (deleted > 0) {
+            log.info("已清理 {} 个过期刷新令牌", deleted);
+        }
+    }
+
+    private String issue(Long userId, String familyId) {
+        byte[] bytes = new byte[32];
+        SECURE_RANDOM.nextBytes(bytes);
+        String rawToken = ENCODER.encodeToString(bytes);
+
+        RefreshToken token = refreshTokenRepository.save(RefreshToken.builder()
+                .tokenHash(hash(rawToken))
+                .familyId(familyId)
+                .userId(userId)
+                .expiresAt(LocalDateTime.now().plus(Duration.ofMillis(properties.getExpiration())))
+                .build());
+        cacheAfterCommit(token.getTokenHash(), Entry.of(token));
+        return rawToken;
+    }
+
+    /**
+     * 事务提交后才放入缓存，回滚时不会留下数据库中不存在的令牌
+     */
+    private void cacheAfterCommit(String tokenHash, Entry entry) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            issuedTokens.put(tokenHash, entry);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                issuedTokens.put(tokenHash, entry);
+            }
+        });
+    }
+
+    private static String hash(String rawToken) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256")
+                    .digest(rawToken.getBytes(StandardCharsets.US_ASCII));
+            return ENCODER.encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 不可用", e);
+        }
+    }
+
+    /**
+     * 轮换结果
+     *
+     * @param userId       用户 ID
+     * @param refreshToken 新的原始刷新令牌
+     */
+    public record Rotation(Long userId, String refreshToken) {
+    }
+
+    /**
+     * 令牌的不可变快照，使用状态以数据库条件更新为准
+     */
+    private record Entry(Long id, String familyId, Long userId, LocalDateTime expiresAt) {
+
+        static Entry of(RefreshToken token) {
+            return new Entry(token.getId(), token.getFamilyId(), token.getUserId(), token.getExpiresAt());
+        }
+    }
+}
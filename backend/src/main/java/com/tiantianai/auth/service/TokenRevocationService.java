@@ -0,0 +1,69 @@
+package com.tiantianai.auth.service;
+
+import com.tiantianai.auth.model.RevokedToken;
+import com.tiantianai.auth.repository.RevokedTokenRepository;
+import com.tiantianai.shared.security.JwtPrincipal;
+import com.tiantianai.shared.security.TokenDenylist;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+/**
+ * 访问令牌吊销服务
+ * 吊销记录持久化到 revoked_tokens 表，启动时回填内存吊销名单
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TokenRevocationService {
+
+    private final RevokedTokenRepository revokedTokenRepository;
+    private final TokenDenylist tokenDenylist;
+
+    /**
+     * 启动时从数据库加载尚未过期的吊销记录
+     */
+    @PostConstruct
+    public void loadDenylist() {
+        var tokens = revokedTokenRepository.findByExpiresAtAfter(LocalDateTime.now());
+        tokens.forEach(token -> tokenDenylist.add(
+                token.getTokenId(), token.getExpiresAt().atZone(ZoneId.systemDefault()).toInstant()));
+        log.info("已加载 {} 条 Token 吊销记录", tokens.size());
+    }
+
+    /**
+     * 吊销访问令牌
+     */
+    @Transactional
+    public void revoke(JwtPrincipal principal) {
+        if (principal.getTokenId() == null || principal.getExpiresAt() == null) {
+            return;
+        }
+        revokedTokenRepository.save(RevokedToken.builder()
+                .tokenId(principal.getTokenId())
+                .userId(principal.getUserId())
+                .expiresAt(LocalDateTime.ofInstant(principal.getExpiresAt(), ZoneId.systemDefault()))
+                .build());
+        tokenDenylist.add(principal.getTokenId(), principal.getExpiresAt());
+        log.info("用户 {} 的 Token {} 已吊销", principal.getUsername(), principal.getTokenId());
+    }
+
+    /**
+     * 定期清理已过期的吊销记录
+     */
+    @Scheduled(fixedDelayString = "PT10M", initialDelayString = "PT10M")
+    @Transactional
+    public void purgeExpired() {
+        int removed = tokenDenylist.purgeExpired();
+        int deleted = revokedTokenRepository.deleteExpired(LocalDateTime.now());
+        if (removed > 0 || deleted > 0) {
+            log.info("已清理过期吊销记录，内存 {} 条，数据库 {} 条", removed, deleted);
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.tiantianai.menu.controller;
+
+import com.tiantianai.menu.dto.MenuResponse;
+import com.tiantianai.menu.service.MenuService;
+import com.tiantianai.shared.common.Result;
+import com.tiantianai.shared.security.JwtPrincipal;
+import com.tiantianai.shared.util.ETagUtil;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.List;
+
+/**
+ * 菜单控制器
+ */
+@Slf4j
+@RestController
+@RequestMapping("/menu")
+@RequiredArgsConstructor
+public class MenuController {
+
+    private final MenuService menuService;
+
+    /**
+     * 获取当前用户可见的菜单树
+     * 支持 If-None-Match，菜单未变更时直接返回 304
+     */
+    @GetMapping("/all")
+    public ResponseEntity<Result<List<MenuResponse>>> getAllMenus(@AuthenticationPrincipal JwtPrincipal principal,
+                                                                  WebRequest webRequest) {
+        String eTag = menuService.getETag(principal.getRoles());
+        if (webRequest.checkNotModified(eTag)) {
+            return null;
+        }
+        return ETagUtil.ok(eTag, Result.success(menuService.getMenus(principal.getRoles())));
+    }
+}
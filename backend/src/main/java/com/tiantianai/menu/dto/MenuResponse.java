@@ -0,0 +1,71 @@
+package com.tiantianai.menu.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 菜单响应 DTO
+ * 结构与前端 RouteRecordStringComponent 一致
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class MenuResponse {
+
+    /**
+     * 路由名称
+     */
+    private String name;
+
+    /**
+     * 路由路径
+     */
+    private String path;
+
+    /**
+     * 组件
+     */
+    private String component;
+
+    /**
+     * 重定向路径
+     */
+    private String redirect;
+
+    /**
+     * 路由元信息
+     */
+    private Meta meta;
+
+    /**
+     * 子菜单
+     */
+    private List<MenuResponse> children;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public static class Meta {
+
+        private String title;
+
+        private String icon;
+
+        private Integer order;
+
+        private Boolean affixTab;
+
+        private Boolean hideInMenu;
+
+        private List<String> authority;
+    }
+}
@@ -0,0 +1,7 @@
+package com.tiantianai.menu.event;
+
+/**
+ * 菜单数据变更事件
+ */
+public record MenuChangedEvent() {
+}
@@ -0,0 +1,27 @@
+package com.tiantianai.menu.event;
+
+import com.tiantianai.menu.model.Menu;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+/**
+ * 菜单实体监听器
+ * 菜单（含可见角色）写入后发布 {@link MenuChangedEvent}
+ */
+@Component
+@RequiredArgsConstructor
+public class MenuEntityListener {
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void onChange(Menu menu) {
+        eventPublisher.publishEvent(new MenuChangedEvent());
+    }
+}
@@ -0,0 +1,124 @@
+package com.tiantianai.menu.model;
+
+import com.tiantianai.menu.event.MenuEntityListener;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * 菜单实体类
+ * 以 parentId 邻接表存储菜单树，字段与前端路由记录一一对应
+ */
+@Entity
+@Table(name = "menus")
+@EntityListeners(MenuEntityListener.class)
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class Menu {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /**
+     * 父菜单 ID，顶级菜单为空
+     */
+    private Long parentId;
+
+    /**
+     * 路由名称
+     */
+    @Column(nullable = false, unique = true, length = 100)
+    private String name;
+
+    /**
+     * 路由路径
+     */
+    @Column(nullable = false, length = 200)
+    private String path;
+
+    /**
+     * 组件（布局名称或页面路径）
+     */
+    @Column(length = 200)
+    private String component;
+
+    /**
+     * 重定向路径
+     */
+    @Column(length = 200)
+    private String redirect;
+
+    /**
+     * 菜单标题（国际化 key 或文本）
+     */
+    @Column(nullable = false, length = 100)
+    private String title;
+
+    /**
+     * 图标
+     */
+    @Column(length = 100)
+    private String icon;
+
+    /**
+     * 排序号，越小越靠前
+     */
+    @Column(nullable = false)
+    @Builder.Default
+    private Integer sortOrder = 0;
+
+    /**
+     * 是否固定在标签页
+     */
+    @Column(nullable = false)
+    @Builder.Default
+    private Boolean affixTab = false;
+
+    /**
+     * 是否在菜单中隐藏
+     */
+    @Column(nullable = false)
+    @Builder.Default
+    private Boolean hideInMenu = false;
+
+    /**
+     * 可见角色，为空表示所有登录用户可见
+     */
+    @ElementCollection
+    @CollectionTable(name = "menu_roles", joinColumns = @JoinColumn(name = "menu_id"))
+    @Column(name = "role")
+    @Builder.Default
+    private Set<String> roles = new HashSet<>();
+
+    /**
+     * 数据版本，可见角色集合变更也会递增，使只改角色的更新同样触发 {@link jakarta.persistence.PostUpdate}
+     */
+    @Version
+    @Column(nullable = false, columnDefinition = "bigint default 0 not null")
+    private Long version;
+
+    /**
+     * 创建时间
+     */
+    @CreationTimestamp
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    /**
+     * 更新时间
+     */
+    @UpdateTimestamp
+    @Column(nullable = false)
+    private LocalDateTime updatedAt;
+}
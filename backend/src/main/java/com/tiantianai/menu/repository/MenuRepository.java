@@ -0,0 +1,21 @@
+package com.tiantianai.menu.repository;
+
+import com.tiantianai.menu.model.Menu;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * 菜单数据访问接口
+ */
+@Repository
+public interface MenuRepository extends JpaRepository<Menu, Long> {
+
+    /**
+     * 一次查询加载全部菜单及其可见角色，按排序号排列
+     */
+    @Query("select distinct m from Menu m left join fetch m.roles order by m.sortOrder, m.id")
+    List<Menu> findAllWithRoles();
+}
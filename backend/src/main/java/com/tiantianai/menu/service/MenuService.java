@@ -0,0 +1,222 @@
+package com.tiantianai.menu.service;
+
+import com.tiantianai.menu.dto.MenuResponse;
+import com.tiantianai.menu.event.MenuChangedEvent;
+import com.tiantianai.menu.model.Menu;
+import com.tiantianai.menu.repository.MenuRepository;
+import com.tiantianai.shared.security.RoleSet;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 菜单服务
+ * 全部菜单一次加载为不可变快照，按角色组合线性构建菜单树并缓存；
+ * 同一角色组合的用户共享同一棵树，菜单或其可见角色变更时整体重建
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class MenuService {
+
+    /**
+     * 单个快照最多缓存的角色组合数，超出后直接构建不再缓存
+     */
+    private static final int MAX_CACHED_ROLE_SETS = 256;
+
+    private final MenuRepository menuRepository;
+
+    private final String epoch = Long.toHexString(ThreadLocalRandom.current().nextLong() >>> 16);
+    private final AtomicLong generation = new AtomicLong();
+    private volatile MenuSnapshot snapshot;
+
+    /**
+     * 快照失效后只由一个线程加载，并发请求等待并复用其结果；
+     * 使用 ReentrantLock 而非 synchronized，虚拟线程等待数据库时不钉住载体线程
+     */
+    private final ReentrantLock loadLock = new ReentrantLock();
+
+    /**
+     * 获取指定角色组合可见的菜单树
+     */
+    public List<MenuResponse> getMenus(Set<String> roles) {
+        MenuSnapshot current = currentSnapshot();
+        String roleKey = roleKey(roles);
+        List<MenuResponse> tree = current.trees().get(roleKey);
+        if (tree != null) {
+            return tree;
+        }
+        tree = buildTree(current.nodes(), roles);
+        if (current.trees().size() < MAX_CACHED_ROLE_SETS) {
+            current.trees().putIfAbsent(roleKey, tree);
+        }
+        return tree;
+    }
+
+    /**
+     * 获取指定角色组合菜单树的 ETag
+     * 由进程启动标识、快照变更代数与完整的角色组合生成，不再逐个节点计算哈希；
+     * 启动标识区分不同进程（含重启后）从 0 开始计数的变更代数
+     */
+    public String getETag(Set<String> roles) {
+        return "m" + epoch + "." + Long.toHexString(currentSnapshot().generation()) + "." + eTagRoleKey(roles);
+    }
+
+    /**
+     * 菜单变更在事务提交后丢弃快照与已构建的菜单树
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onMenuChanged(MenuChangedEvent event) {
+        generation.incrementAndGet();
+        snapshot = null;
+    }
+
+    private MenuSnapshot currentSnapshot() {
+        MenuSnapshot current = snapshot;
+        if (current != null && current.generation() == generation.get()) {
+            return current;
+        }
+
+        loadLock.lock();
+        try {
+            // 等待锁期间其他线程可能已加载完成
+            current = snapshot;
+            long gen = generation.get();
+            if (current != null && current.generation() == gen) {
+                return current;
+            }
+
+            List<MenuNode> nodes = menuRepository.findAllWithRoles().stream()
+                    .map(MenuNode::of)
+                    .toList();
+            MenuSnapshot loaded = new MenuSnapshot(gen, nodes, new ConcurrentHashMap<>());
+            // 加载期间菜单又发生变更时不安装过期快照
+            if (generation.get() == gen) {
+                snapshot = loaded;
+            }
+            log.debug("菜单快照已加载，共 {} 个节点", nodes.size());
+            return loaded;
+        } finally {
+            loadLock.unlock();
+        }
+    }
+
+    /**
+     * 线性构建菜单树：第一遍生成可见节点，第二遍挂接到父节点
+     * 节点已按排序号排列，子节点列表天然有序；父节点不可见时整棵子树被丢弃
+     */
+    private static List<MenuResponse> buildTree(List<MenuNode> nodes, Set<String> roles) {
+        Map<Long, MenuResponse> visible = new HashMap<>(nodes.size() * 2);
+        for (MenuNode node : nodes) {
+            if (node.isVisibleTo(roles)) {
+                visible.put(node.id(), node.toResponse());
+            }
+        }
+
+        List<MenuResponse> roots = new ArrayList<>();
+        for (MenuNode node : nodes) {
+            MenuResponse response = visible.get(node.id());
+            if (response == null) {
+                continue;
+            }
+            if (node.parentId() == null) {
+                roots.add(response);
+                continue;
+            }
+            MenuResponse parent = visible.get(node.parentId());
+            if (parent != null) {
+                if (parent.getChildren() == null) {
+                    parent.setChildren(new ArrayList<>());
+                }
+                parent.getChildren().add(response);
+            }
+        }
+        return Collections.unmodifiableList(roots);
+    }
+
+    private static String roleKey(Set<String> roles) {
+        if (roles instanceof RoleSet roleSet) {
+            return "#" + Long.toHexString(roleSet.mask());
+        }
+        if (roles.isEmpty()) {
+            return "";
+        }
+        if (roles.size() == 1) {
+            return roles.iterator().next();
+        }
+        return String.join(",", new TreeSet<>(roles));
+    }
+
+    /**
+     * ETag 中的角色组合：RoleSet 直接使用角色掩码，
+     * 其他集合使用排序后的完整角色编码（Base64URL 编码，保证不含引号等 ETag 不允许的字符）
+     */
+    private static String eTagRoleKey(Set<String> roles) {
+        String key = roleKey(roles);
+        if (roles instanceof RoleSet) {
+            return key;
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(key.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * 菜单快照
+     *
+     * @param generation 加载时的变更代数
+     * @param nodes      按排序号排列的全部菜单节点
+     * @param trees      按角色组合缓存的菜单树
+     */
+    private record MenuSnapshot(long generation, List<MenuNode> nodes, Map<String, List<MenuResponse>> trees) {
+    }
+
+    /**
+     * 菜单节点的不可变快照
+     */
+    private record MenuNode(Long id, Long parentId, String name, String path, String component,
+                            String redirect, String title, String icon, Integer sortOrder,
+                            Boolean affixTab, Boolean hideInMenu, Set<String> roles) {
+
+        static MenuNode of(Menu menu) {
+            return new MenuNode(menu.getId(), menu.getParentId(), menu.getName(), menu.getPath(),
+                    menu.getComponent(), menu.getRedirect(), menu.getTitle(), menu.getIcon(),
+                    menu.getSortOrder(), menu.getAffixTab(), menu.getHideInMenu(), Set.copyOf(menu.getRoles()));
+        }
+
+        boolean isVisibleTo(Set<String> userRoles) {
+            if (roles.isEmpty()) {
+                return true;
+            }
+            for (String role : roles) {
+                if (userRoles.contains(role)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        MenuResponse toResponse() {
+            return MenuResponse.builder()
+                    .name(name)
+                    .path(path)
+                    .component(component)
+                    .redirect(redirect)
+                    .meta(MenuResponse.Meta.builder()
+                            .title(title)
+                            .icon(icon)
+                            .order(sortOrder)
+                            .affixTab(Boolean.TRUE.equals(affixTab) ? true : null)
+                            .hideInMenu(Boolean.TRUE.equals(hideInMenu) ? true : null)
+                            .authority(roles.isEmpty() ? null : List.copyOf(roles))
+                            .build())
+                    .build();
+        }
+    }
+}
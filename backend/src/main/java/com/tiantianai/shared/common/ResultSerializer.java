@@ -0,0 +1,71 @@
+package com.tiantianai.shared.common;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.tiantianai.shared.exception.ErrorCode;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * {@link Result} 的 JSON 序列化器
+ * 输出与默认 Bean 序列化逐字节一致（code、message、data 顺序，data 为 null 时输出 null），
+ * 字段名和常用提示信息（success 与错误码目录中的信息）预先编码，写出时直接复制字节，
+ * 不经过属性反射与逐字符转义；data 按运行时类型交给 Jackson 序列化
+ */
+public class ResultSerializer extends StdSerializer<Result<?>> {
+
+    private static final SerializableString CODE = new SerializedString("code");
+    private static final SerializableString MESSAGE = new SerializedString("message");
+    private static final SerializableString DATA = new SerializedString("data");
+
+    /**
+     * 预先编码的提示信息
+     */
+    private static final Map<String, SerializableString> MESSAGES = new HashMap<>();
+
+    static {
+        MESSAGES.put("success", new SerializedString("success"));
+        for (ErrorCode errorCode : ErrorCode.values()) {
+            MESSAGES.put(errorCode.getMessage(), new SerializedString(errorCode.getMessage()));
+        }
+    }
+
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    public ResultSerializer() {
+        super((Class) Result.class);
+    }
+
+    @Override
+    public void serialize(Result<?> result, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        gen.writeStartObject(result);
+
+        gen.writeFieldName(CODE);
+        Integer code = result.getCode();
+        if (code != null) {
+            gen.writeNumber(code);
+        } else {
+            gen.writeNull();
+        }
+
+        gen.writeFieldName(MESSAGE);
+        String message = result.getMessage();
+        SerializableString encoded = message != null ? MESSAGES.get(message) : null;
+        if (encoded != null) {
+            gen.writeString(encoded);
+        } else if (message != null) {
+            gen.writeString(message);
+        } else {
+            gen.writeNull();
+        }
+
+        gen.writeFieldName(DATA);
+        provider.defaultSerializeValue(result.getData(), gen);
+
+        gen.writeEndObject();
+    }
+}
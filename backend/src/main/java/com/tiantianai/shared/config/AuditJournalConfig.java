@@ -0,0 +1,20 @@
+package com.tiantianai.shared.config;
+
+import com.tiantianai.audit.service.SecurityEventJournal;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Clock;
+
+/**
+ * 安全事件日志配置
+ */
+@Configuration
+public class AuditJournalConfig {
+
+    @Bean(initMethod = "start", destroyMethod = "stop")
+    public SecurityEventJournal securityEventJournal(AuditJournalProperties properties, MeterRegistry meterRegistry) {
+        return new SecurityEventJournal(properties, Clock.systemUTC(), meterRegistry);
+    }
+}
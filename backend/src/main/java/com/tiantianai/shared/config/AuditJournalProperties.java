@@ -0,0 +1,53 @@
+package com.tiantianai.shared.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * 安全事件日志配置属性
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "audit.journal")
+public class AuditJournalProperties {
+
+    /**
+     * 是否记录安全事件
+     */
+    private boolean enabled = true;
+
+    /**
+     * 段文件目录
+     */
+    private Path directory = Path.of("data", "audit");
+
+    /**
+     * 单个段文件大小，写满后切换新段
+     */
+    private DataSize segmentSize = DataSize.ofMegabytes(64);
+
+    /**
+     * 段文件最长使用时间，到期后即使未写满也切换新段
+     */
+    private Duration rotationInterval = Duration.ofDays(1);
+
+    /**
+     * 保留时长，段内事件全部早于此时长后删除整个段
+     */
+    private Duration retention = Duration.ofDays(90);
+
+    /**
+     * 待写入队列容量，队列满时丢弃事件并计数，不阻塞请求线程
+     */
+    private int queueCapacity = 65_536;
+
+    /**
+     * 刷盘间隔，进程崩溃不丢已写入的事件，刷盘用于防止操作系统崩溃丢失
+     */
+    private Duration forceInterval = Duration.ofSeconds(1);
+}
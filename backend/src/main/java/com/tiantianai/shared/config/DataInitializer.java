@@ -1,7 +1,10 @@
 package com.tiantianai.shared.config;
 
+import com.tiantianai.menu.model.Menu;
+import com.tiantianai.menu.repository.MenuRepository;
 import com.tiantianai.user.model.User;
 import com.tiantianai.user.repository.UserRepository;
+import com.tiantianai.user.service.RoleRegistry;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.boot.CommandLineRunner;
@@ -20,11 +23,15 @@ public class DataInitializer implements CommandLineRunner {
 
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
+    private final MenuRepository menuRepository;
+    private final RoleRegistry roleRegistry;
 
     @Override
     public void run(String... args) {
         // 创建测试用户
         initTestUsers();
+        // 创建默认菜单
+        initMenus();
     }
 
     private void initTestUsers() {
@@ -40,7 +47,7 @@ public class DataInitializer implements CommandLineRunner {
                 .password(passwordEncoder.encode("123456"))
                 .realName("Vben Admin")
                 .homePath("/dashboard")
-                .roles(Set.of("admin", "user"))
+                .roleMask(roleRegistry.maskOf(Set.of("admin", "user")))
                 .enabled(true)
                 .build();
 
@@ -50,7 +57,7 @@ public class DataInitializer implements CommandLineRunner {
                 .password(passwordEncoder.encode("123456"))
                 .realName("Administrator")
                 .homePath("/dashboard")
-                .roles(Set.of("admin"))
+                .roleMask(roleRegistry.maskOf(Set.of("admin")))
                 .enabled(true)
                 .build();
 
@@ -60,7 +67,7 @@ public class DataInitializer implements CommandLineRunner {
                 .password(passwordEncoder.encode("123456"))
                 .realName("Jack")
                 .homePath("/dashboard")
-                .roles(Set.of("user"))
+                .roleMask(roleRegistry.maskOf(Set.of("user")))
                 .enabled(true)
                 .build();
 
@@ -73,4 +80,63 @@ public class DataInitializer implements CommandLineRunner {
         log.info("用户名: admin, 密码: 123456, 角色: admin");
         log.info("用户名: jack, 密码: 123456, 角色: user");
     }
+
+    private void initMenus() {
+        if (menuRepository.count() > 0) {
+            log.info("菜单数据已存在，跳过初始化");
+            return;
+        }
+
+        // 概览
+        Menu dashboard = menuRepository.save(Menu.builder()
+                .name("Dashboard")
+                .path("/dashboard")
+                .component("BasicLayout")
+                .redirect("/analytics")
+                .title("page.dashboard.title")
+                .icon("lucide:layout-dashboard")
+                .sortOrder(-1)
+                .build());
+
+        menuRepository.save(Menu.builder()
+                .parentId(dashboard.getId())
+                .name("Analytics")
+                .path("/analytics")
+                .component("/dashboard/analytics/index")
+                .title("page.dashboard.analytics")
+                .icon("lucide:area-chart")
+                .affixTab(true)
+                .build());
+
+        menuRepository.save(Menu.builder()
+                .parentId(dashboard.getId())
+                .name("Workspace")
+                .path("/workspace")
+                .component("/dashboard/workspace/index")
+                .title("page.dashboard.workspace")
+                .icon("carbon:workspace")
+                .sortOrder(1)
+                .build());
+
+        // 演示（仅管理员可见）
+        Menu demos = menuRepository.save(Menu.builder()
+                .name("Demos")
+                .path("/demos")
+                .component("BasicLayout")
+                .title("demos.title")
+                .icon("ic:baseline-view-in-ar")
+                .sortOrder(1000)
+                .roles(Set.of("admin"))
+                .build());
+
+        menuRepository.save(Menu.builder()
+                .parentId(demos.getId())
+                .name("AntDesignDemos")
+                .path("/demos/ant-design")
+                .component("/demos/antd/index")
+                .title("demos.antd")
+                .build());
+
+        log.info("默认菜单初始化完成");
+    }
 }
@@ -0,0 +1,90 @@
+package com.tiantianai.shared.config;
+
+import com.tiantianai.shared.datasource.ReplicaLagMonitor;
+import com.tiantianai.shared.datasource.ReplicaRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Clock;
+
+/**
+ * 读写分离数据源配置
+ * 读写事务与无事务访问使用主库，readOnly 事务使用副本；
+ * 物理连接延迟到第一条语句执行时获取，此时事务的只读标记已经确定。
+ * 业务代码只需正确声明 {@code @Transactional(readOnly = true)}。
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "datasource.routing", name = "enabled", havingValue = "true")
+public class DataSourceRoutingConfig implements DisposableBean {
+
+    private final DataSourceRoutingProperties properties;
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * 主库连接池，连接参数沿用 spring.datasource
+     */
+    private final HikariDataSource primaryPool;
+
+    /**
+     * 只读副本连接池
+     */
+    private final HikariDataSource replicaPool;
+
+    public DataSourceRoutingConfig(DataSourceProperties dataSourceProperties,
+                                   DataSourceRoutingProperties properties,
+                                   MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+
+        // 两个连接池以 pool 标签区分，各自上报 hikaricp.* 指标
+        this.primaryPool = dataSourceProperties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+        primaryPool.setPoolName("primary");
+        primaryPool.setMaximumPoolSize(properties.getPrimaryPoolSize());
+        primaryPool.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+
+        DataSourceRoutingProperties.Replica replica = properties.getReplica();
+        this.replicaPool = new HikariDataSource();
+        replicaPool.setPoolName("replica");
+        replicaPool.setJdbcUrl(replica.getUrl());
+        replicaPool.setUsername(replica.getUsername());
+        replicaPool.setPassword(replica.getPassword());
+        if (replica.getDriverClassName() != null) {
+            replicaPool.setDriverClassName(replica.getDriverClassName());
+        }
+        replicaPool.setMaximumPoolSize(replica.getPoolSize());
+        replicaPool.setReadOnly(true);
+        replicaPool.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+    }
+
+    @Bean
+    public ReplicaLagMonitor replicaLagMonitor() {
+        return new ReplicaLagMonitor(primaryPool, replicaPool,
+                properties.getMaxLag(), Clock.systemUTC(), meterRegistry);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicaLagMonitor replicaLagMonitor) {
+        LazyConnectionDataSourceProxy proxy = new LazyConnectionDataSourceProxy(primaryPool);
+        proxy.setReadOnlyDataSource(
+                new ReplicaRoutingDataSource(primaryPool, replicaPool, replicaLagMonitor, meterRegistry));
+        return proxy;
+    }
+
+    @Override
+    public void destroy() {
+        replicaPool.close();
+        primaryPool.close();
+    }
+}
@@ -0,0 +1,70 @@
+package com.tiantianai.shared.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * 读写分离数据源配置属性
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "datasource.routing")
+public class DataSourceRoutingProperties {
+
+    /**
+     * 是否启用读写分离，关闭时只使用 spring.datasource 主库
+     */
+    private boolean enabled = false;
+
+    /**
+     * 主库连接池大小
+     */
+    private int primaryPoolSize = 10;
+
+    /**
+     * 只读副本连接
+     */
+    private Replica replica = new Replica();
+
+    /**
+     * 允许的最大复制延迟，超过后只读事务回退到主库
+     */
+    private Duration maxLag = Duration.ofSeconds(5);
+
+    /**
+     * 心跳写入与延迟检测间隔
+     */
+    private Duration heartbeatInterval = Duration.ofSeconds(1);
+
+    @Data
+    public static class Replica {
+
+        /**
+         * JDBC URL
+         */
+        private String url;
+
+        /**
+         * 用户名
+         */
+        private String username;
+
+        /**
+         * 密码
+         */
+        private String password;
+
+        /**
+         * 驱动类名，为空时由 URL 推断
+         */
+        private String driverClassName;
+
+        /**
+         * 连接池大小
+         */
+        private int poolSize = 10;
+    }
+}
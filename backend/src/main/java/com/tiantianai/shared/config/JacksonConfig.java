@@ -0,0 +1,32 @@
+package com.tiantianai.shared.config;
+
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import com.tiantianai.shared.common.ResultSerializer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Jackson 配置
+ * 模块以 Bean 注册，由 Spring Boot 加入全局 ObjectMapper，响应格式不变
+ */
+@Configuration
+public class JacksonConfig {
+
+    /**
+     * Result 外层结构使用预编码的序列化器
+     */
+    @Bean
+    public Module resultModule() {
+        return new SimpleModule("ResultModule").addSerializer(new ResultSerializer());
+    }
+
+    /**
+     * DTO 属性访问改为运行时生成的 Lambda，替代反射调用 getter
+     */
+    @Bean
+    public Module blackbirdModule() {
+        return new BlackbirdModule();
+    }
+}
@@ -19,9 +19,14 @@ public class JwtProperties {
 
     /**
      * JWT 过期时间（毫秒）
-     * 默认 24 小时
+     * 默认 15 分钟，会话由刷新令牌续期
      */
-    private Long expiration = 24 * 60 * 60 * 1000L;
+    private Long expiration = 15 * 60 * 1000L;
+
+    /**
+     * 刷新令牌配置
+     */
+    private Refresh refresh = new Refresh();
 
     /**
      * Token 前缀
@@ -32,4 +37,67 @@ public class JwtProperties {
      * Token 请求头名称
      */
     private String headerName = "Authorization";
+
+    /**
+     * 已验证 Token 缓存配置
+     */
+    private Cache cache = new Cache();
+
+    /**
+     * Token 吊销名单配置
+     */
+    private Denylist denylist = new Denylist();
+
+    @Data
+    public static class Cache {
+
+        /**
+         * 是否启用已验证 Token 缓存
+         */
+        private boolean enabled = true;
+
+        /**
+         * 最大缓存条数，超出后按容量淘汰
+         */
+        private long maximumSize = 10_000;
+    }
+
+    @Data
+    public static class Refresh {
+
+        /**
+         * 刷新令牌过期时间（毫秒）
+         * 默认 7 天
+         */
+        private Long expiration = 7 * 24 * 60 * 60 * 1000L;
+
+        /**
+         * 刷新令牌 Cookie 名称
+         */
+        private String cookieName = "refresh_token";
+
+        /**
+         * Cookie 是否仅通过 HTTPS 发送
+         */
+        private boolean cookieSecure = false;
+
+        /**
+         * 已签发刷新令牌的本地缓存上限
+         */
+        private long cacheSize = 10_000;
+    }
+
+    @Data
+    public static class Denylist {
+
+        /**
+         * 布隆过滤器预期容量，超出后误判率上升但结果仍然精确
+         */
+        private int expectedInsertions = 100_000;
+
+        /**
+         * 布隆过滤器目标误判率
+         */
+        private double falsePositiveRate = 0.01;
+    }
 }
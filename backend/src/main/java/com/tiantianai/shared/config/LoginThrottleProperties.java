@@ -0,0 +1,46 @@
+package com.tiantianai.shared.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * 登录限流配置属性
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "security.login-throttle")
+public class LoginThrottleProperties {
+
+    /**
+     * 是否启用登录限流
+     */
+    private boolean enabled = true;
+
+    /**
+     * 单个 IP 的统计窗口
+     */
+    private Duration ipWindow = Duration.ofMinutes(1);
+
+    /**
+     * 单个 IP 在窗口内允许的登录尝试次数（含成功）
+     */
+    private int ipMaxAttempts = 30;
+
+    /**
+     * 单个用户名的统计窗口
+     */
+    private Duration usernameWindow = Duration.ofMinutes(15);
+
+    /**
+     * 单个用户名在窗口内允许的失败次数
+     */
+    private int usernameMaxFailures = 10;
+
+    /**
+     * 每类计数器最多跟踪的键数量，超出后淘汰最久未访问的键
+     */
+    private long maximumKeys = 100_000;
+}
@@ -0,0 +1,62 @@
+package com.tiantianai.shared.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * 密码哈希配置属性
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "security.password-hash")
+public class PasswordHashProperties {
+
+    /**
+     * 密码校验线程数，默认等于 CPU 核数
+     */
+    private int poolSize = Runtime.getRuntime().availableProcessors();
+
+    /**
+     * 等待队列容量，队列满时立即拒绝
+     */
+    private int queueCapacity = Runtime.getRuntime().availableProcessors() * 4;
+
+    /**
+     * 请求线程等待校验结果的最长时间
+     */
+    private Duration maxWait = Duration.ofSeconds(5);
+
+    /**
+     * 登录后重新哈希的线程数，与登录校验线程池相互独立
+     */
+    private int rehashPoolSize = 1;
+
+    /**
+     * 重新哈希的等待队列容量，队列满时直接丢弃，由用户下次登录再尝试
+     */
+    private int rehashQueueCapacity = 64;
+
+    /**
+     * 固定的 BCrypt cost，设置后跳过启动校准
+     * 多节点部署且硬件不一致时建议显式设置，使各节点生成相同 cost 的哈希
+     */
+    private Integer strength;
+
+    /**
+     * 启动校准的目标单次校验耗时
+     */
+    private Duration targetLatency = Duration.ofMillis(250);
+
+    /**
+     * 校准允许的最小 cost，不低于 BCrypt 默认值
+     */
+    private int minStrength = 10;
+
+    /**
+     * 校准允许的最大 cost
+     */
+    private int maxStrength = 16;
+}
@@ -0,0 +1,74 @@
+package com.tiantianai.shared.config;
+
+import com.tiantianai.user.event.UserChangedEvent;
+import com.tiantianai.user.service.RoleRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.stereotype.Component;
+
+import java.sql.ResultSet;
+import java.util.*;
+
+/**
+ * 角色掩码迁移
+ * 将旧版 user_roles 表中的角色折算到 users.role_mask，仅处理掩码仍为 0 的用户，
+ * 可重复执行；旧表保留以便回滚，确认无误后可手工删除。
+ * 迁移在 Web 服务已开始接收请求后执行，因此同时递增 version 并失效用户缓存，
+ * 避免此前缓存的无角色资料和 ETag 继续生效
+ */
+@Slf4j
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@RequiredArgsConstructor
+public class RoleMaskMigration implements ApplicationRunner {
+
+    private static final String LEGACY_TABLE = "user_roles";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final RoleRegistry roleRegistry;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!legacyTableExists()) {
+            return;
+        }
+
+        Map<Long, Set<String>> rolesByUser = new HashMap<>();
+        jdbcTemplate.query(
+                "SELECT ur.user_id, ur.role FROM user_roles ur JOIN users u ON u.id = ur.user_id WHERE u.role_mask = 0",
+                (ResultSet rs) -> {
+                    rolesByUser.computeIfAbsent(rs.getLong(1), k -> new HashSet<>()).add(rs.getString(2));
+                });
+        if (rolesByUser.isEmpty()) {
+            return;
+        }
+
+        List<Object[]> updates = new ArrayList<>(rolesByUser.size());
+        rolesByUser.forEach((userId, roles) -> updates.add(new Object[]{roleRegistry.maskOf(roles), userId}));
+        jdbcTemplate.batchUpdate(
+                "UPDATE users SET role_mask = ?, version = version + 1 WHERE id = ? AND role_mask = 0", updates);
+        rolesByUser.keySet().forEach(userId -> eventPublisher.publishEvent(new UserChangedEvent(userId)));
+        log.info("已将 {} 个用户的角色迁移到 role_mask", updates.size());
+    }
+
+    private boolean legacyTableExists() {
+        try {
+            return Boolean.TRUE.equals(JdbcUtils.extractDatabaseMetaData(jdbcTemplate.getDataSource(), metaData -> {
+                try (ResultSet tables = metaData.getTables(null, null, LEGACY_TABLE, new String[]{"TABLE"})) {
+                    return tables.next();
+                }
+            }));
+        } catch (Exception e) {
+            log.warn("检查旧角色表失败，跳过迁移: {}", e.getMessage());
+            return false;
+        }
+    }
+}
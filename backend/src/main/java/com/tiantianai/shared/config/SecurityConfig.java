@@ -1,7 +1,9 @@
 package com.tiantianai.shared.config;
 
+import com.tiantianai.shared.security.CalibratedPasswordEncoder;
 import com.tiantianai.shared.security.JwtAuthenticationFilter;
 import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.autoconfigure.security.servlet.EndpointRequest;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
@@ -9,7 +11,6 @@ import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.config.http.SessionCreationPolicy;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
@@ -48,8 +49,10 @@ public class SecurityConfig {
                 .authorizeHttpRequests(authorize -> authorize
                         // 允许 OPTIONS 请求（CORS 预检）
                         .requestMatchers(request -> "OPTIONS".equals(request.getMethod())).permitAll()
-                        // 允许登录接口匿名访问
-                        .requestMatchers("/auth/login", "/auth/refresh").permitAll()
+                        // 允许登录接口匿名访问，登出在未携带访问令牌时也需要清理刷新令牌
+                        .requestMatchers("/auth/login", "/auth/refresh", "/auth/logout").permitAll()
+                        // 健康检查与指标抓取，只在独立的管理端口（management.server.port）上提供
+                        .requestMatchers(EndpointRequest.to("health", "prometheus")).permitAll()
                         // 其他所有请求需要认证
                         .anyRequest().authenticated()
                 )
@@ -62,10 +65,15 @@ public class SecurityConfig {
 
     /**
      * 密码编码器
+     * 未指定固定 cost 时，启动时按目标耗时在当前硬件上校准
      */
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(PasswordHashProperties properties) {
+        int strength = properties.getStrength() != null
+                ? properties.getStrength()
+                : CalibratedPasswordEncoder.calibrate(
+                        properties.getTargetLatency(), properties.getMinStrength(), properties.getMaxStrength());
+        return new CalibratedPasswordEncoder(strength);
     }
 
     /**
@@ -93,7 +101,7 @@ public class SecurityConfig {
         configuration.setAllowCredentials(true);
 
         // 暴露的响应头
-        configuration.setExposedHeaders(Arrays.asList("Authorization"));
+        configuration.setExposedHeaders(Arrays.asList("Authorization", "ETag"));
 
         UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
         source.registerCorsConfiguration("/**", configuration);
@@ -0,0 +1,73 @@
+package com.tiantianai.shared.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tiantianai.shared.timing.RequestTiming;
+import com.tiantianai.shared.timing.TimedJacksonHttpMessageConverter;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+import org.springframework.data.repository.core.support.RepositoryMethodInvocationListener;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 请求分阶段耗时的埋点注册
+ * JWT 阶段由认证过滤器记录；处理器、仓库调用与序列化阶段在此接入，
+ * 未采集的请求在各埋点处只判断一次 {@link RequestTiming#current()}
+ */
+@Configuration
+public class ServerTimingConfig implements WebMvcConfigurer {
+
+    /**
+     * 仓库方法调用耗时，Spring Data 已为调用计时，这里只做累计
+     */
+    private static final RepositoryMethodInvocationListener REPOSITORY_LISTENER = invocation ->
+            RequestTiming.recordCurrent(RequestTiming.Phase.DB, invocation.getDuration(TimeUnit.NANOSECONDS));
+
+    /**
+     * 替换默认的 Jackson 转换器，沿用 Spring Boot 配置的 ObjectMapper
+     */
+    @Bean
+    public MappingJackson2HttpMessageConverter mappingJackson2HttpMessageConverter(ObjectMapper objectMapper,
+                                                                                   ServerTimingProperties properties) {
+        return new TimedJacksonHttpMessageConverter(objectMapper, properties.isHeader());
+    }
+
+    /**
+     * 为所有仓库注册调用监听
+     */
+    @Bean
+    public static BeanPostProcessor repositoryTimingBeanPostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> factoryBean) {
+                    factoryBean.addRepositoryFactoryCustomizer(
+                            factory -> factory.addInvocationListener(REPOSITORY_LISTENER));
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new HandlerInterceptor() {
+            @Override
+            public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+                RequestTiming timing = RequestTiming.current();
+                if (timing != null) {
+                    timing.handlerStarted();
+                }
+                return true;
+            }
+        });
+    }
+}
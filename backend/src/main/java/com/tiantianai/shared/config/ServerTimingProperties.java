@@ -0,0 +1,37 @@
+package com.tiantianai.shared.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * 请求分阶段耗时（Server-Timing）配置属性
+ * 未启用且采样率为 0 时不创建任何采集对象
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "server-timing")
+public class ServerTimingProperties {
+
+    /**
+     * 是否对所有请求采集
+     */
+    private boolean enabled = false;
+
+    /**
+     * 未启用时按此比例抽样采集，取值 0 ~ 1
+     */
+    private double sampleRate = 0.0;
+
+    /**
+     * 是否输出 Server-Timing 响应头
+     */
+    private boolean header = true;
+
+    /**
+     * 采集到的请求总耗时超过此值时输出一行慢请求日志，未设置时不输出
+     */
+    private Duration slowThreshold;
+}
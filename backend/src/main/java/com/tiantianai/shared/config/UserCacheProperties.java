@@ -0,0 +1,26 @@
+package com.tiantianai.shared.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * 用户资料缓存配置属性
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "cache.user")
+public class UserCacheProperties {
+
+    /**
+     * 最大缓存用户数
+     */
+    private long maximumSize = 10_000;
+
+    /**
+     * 写入后存活时间，作为失效事件丢失时的兜底
+     */
+    private Duration ttl = Duration.ofMinutes(10);
+}
@@ -0,0 +1,32 @@
+package com.tiantianai.shared.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * 用户导出配置属性
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "user.export")
+public class UserExportProperties {
+
+    /**
+     * 导出查询开始返回结果前的最长等待时间（JDBC 查询超时）
+     */
+    private Duration queryTimeout = Duration.ofSeconds(30);
+
+    /**
+     * 整个导出语句在数据库端的最长执行时间，包括向慢速客户端逐行发送的时间；
+     * MySQL 以 MAX_EXECUTION_TIME 提示在服务端中止，防止导出长期占用连接与读视图
+     */
+    private Duration statementTimeout = Duration.ofMinutes(10);
+
+    /**
+     * 同时进行的导出数上限，每个导出在整个过程中占用一个连接池连接，超出时立即返回 503
+     */
+    private int maxConcurrent = 2;
+}
@@ -0,0 +1,54 @@
+package com.tiantianai.shared.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * 批量导入用户配置属性
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "user.import")
+public class UserImportProperties {
+
+    /**
+     * 每个事务提交的行数，也是断点续传的粒度
+     */
+    private int chunkSize = 1000;
+
+    /**
+     * 并行计算密码哈希的线程数，默认取 CPU 核数的一半，为在线登录保留算力；
+     * 停机导入时可设为 CPU 核数
+     */
+    private int hashThreads = Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+
+    /**
+     * 通过接口上传的 CSV 暂存目录，任务完成或取消后删除，失败时保留以便续传
+     */
+    private Path directory = Path.of("data/import");
+
+    /**
+     * 失败任务暂存文件的保留时长，文件含明文密码，过期后删除，需重新上传
+     */
+    private Duration failedRetention = Duration.ofHours(24);
+
+    /**
+     * RUNNING 或 QUEUED 任务超过该时长未推进即视为执行进程已退出，允许其他实例接管；
+     * 应大于处理一批所需的时间
+     */
+    private Duration staleAfter = Duration.ofMinutes(10);
+
+    /**
+     * 命令行导入的 CSV 文件，设置后启动时执行导入
+     */
+    private Path file;
+
+    /**
+     * 命令行导入的任务 ID，默认取文件名（不含扩展名）
+     */
+    private String jobId;
+}
@@ -0,0 +1,50 @@
+package com.tiantianai.shared.config;
+
+import com.tiantianai.user.dto.UserImportResponse;
+import com.tiantianai.user.service.UserImportService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.nio.file.Path;
+
+/**
+ * 命令行批量导入用户
+ * 设置 user.import.file 时在启动完成后导入，例如：
+ * {@code java -jar app.jar --spring.main.web-application-type=none --user.import.file=users.csv}
+ * 中断或失败后以相同参数重新执行即从断点继续；非 Web 模式下导入完成后退出进程，失败时启动失败
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "user.import", name = "file")
+@RequiredArgsConstructor
+public class UserImportRunner implements ApplicationRunner {
+
+    private final UserImportService userImportService;
+    private final UserImportProperties properties;
+    private final ConfigurableApplicationContext applicationContext;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        Path file = properties.getFile();
+        String jobId = StringUtils.hasText(properties.getJobId())
+                ? properties.getJobId()
+                : StringUtils.stripFilenameExtension(file.getFileName().toString());
+        log.info("开始导入用户：文件 {}，任务 {}", file, jobId);
+
+        UserImportResponse result = userImportService.importFile(jobId, file);
+        log.info("导入任务 {} 结束：共 {} 行，新增 {}，跳过 {}", jobId, result.getProcessedRows(),
+                result.getImportedCount(), result.getSkippedCount());
+
+        if (!(applicationContext instanceof WebServerApplicationContext)) {
+            System.exit(SpringApplication.exit(applicationContext));
+        }
+    }
+}
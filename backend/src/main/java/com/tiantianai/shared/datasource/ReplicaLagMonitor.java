@@ -0,0 +1,107 @@
+package com.tiantianai.shared.datasource;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * 副本复制延迟监测
+ * 定期在主库写入心跳时间戳，并在副本读取复制过来的值，延迟即当前时间与副本所见心跳之差，
+ * 复制正常时不超过一个心跳间隔，复制停止后随时间持续增长。
+ * 副本不可达、尚无心跳或延迟超过阈值时标记为不可用。
+ * 心跳表 replication_heartbeat 由 Flyway 脚本在主库创建并复制到副本。
+ */
+@Slf4j
+public class ReplicaLagMonitor {
+
+    static final String HEARTBEAT_TABLE = "replication_heartbeat";
+
+    private final JdbcTemplate primary;
+    private final JdbcTemplate replica;
+    private final Duration maxLag;
+    private final Clock clock;
+
+    private volatile long lagMillis = -1;
+    private volatile boolean usable;
+
+    public ReplicaLagMonitor(DataSource primary, DataSource replica, Duration maxLag,
+                             Clock clock, MeterRegistry meterRegistry) {
+        this.primary = new JdbcTemplate(primary);
+        this.replica = new JdbcTemplate(replica);
+        this.maxLag = maxLag;
+        this.clock = clock;
+        Gauge.builder("datasource.replica.lag", this, m -> m.lagMillis)
+                .description("副本复制延迟（毫秒），-1 表示不可用")
+                .baseUnit("milliseconds")
+                .register(meterRegistry);
+        Gauge.builder("datasource.replica.usable", this, m -> m.usable ? 1 : 0)
+                .description("只读事务当前是否路由到副本")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 副本当前是否可承担只读事务
+     */
+    public boolean isUsable() {
+        return usable;
+    }
+
+    /**
+     * 最近一次检测到的延迟（毫秒），-1 表示不可用
+     */
+    public long getLagMillis() {
+        return lagMillis;
+    }
+
+    /**
+     * 读取副本心跳并写入新的主库心跳，由定时任务单线程调用
+     */
+    @Scheduled(fixedDelayString = "${datasource.routing.heartbeat-interval:PT1S}")
+    public void check() {
+        long now = clock.millis();
+        updateLag(now);
+        beat(now);
+    }
+
+    private void updateLag(long now) {
+        boolean wasUsable = usable;
+        try {
+            List<Long> beats = replica.queryForList(
+                    "SELECT beat_at FROM " + HEARTBEAT_TABLE + " WHERE id = 1", Long.class);
+            if (beats.isEmpty()) {
+                lagMillis = -1;
+                usable = false;
+            } else {
+                lagMillis = Math.max(0, now - beats.get(0));
+                usable = lagMillis <= maxLag.toMillis();
+            }
+        } catch (Exception e) {
+            lagMillis = -1;
+            usable = false;
+            if (wasUsable) {
+                log.warn("副本心跳读取失败，只读事务回退到主库: {}", e.getMessage());
+            }
+            return;
+        }
+        if (wasUsable != usable) {
+            log.info("副本{}，当前延迟 {} ms", usable ? "已恢复" : "延迟过高，只读事务回退到主库", lagMillis);
+        }
+    }
+
+    private void beat(long now) {
+        try {
+            if (primary.update("UPDATE " + HEARTBEAT_TABLE + " SET beat_at = ? WHERE id = 1", now) == 0) {
+                primary.update("INSERT INTO " + HEARTBEAT_TABLE + " (id, beat_at) VALUES (1, ?)", now);
+            }
+        } catch (Exception e) {
+            log.warn("主库心跳写入失败: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.tiantianai.shared.datasource;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+/**
+ * 只读事务的数据源
+ * 副本可用时路由到副本，延迟超限或不可达时回退到主库
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    private static final String PRIMARY = "primary";
+    private static final String REPLICA = "replica";
+
+    private final ReplicaLagMonitor lagMonitor;
+    private final Counter replicaCounter;
+    private final Counter fallbackCounter;
+
+    public ReplicaRoutingDataSource(DataSource primary, DataSource replica,
+                                    ReplicaLagMonitor lagMonitor, MeterRegistry meterRegistry) {
+        this.lagMonitor = lagMonitor;
+        this.replicaCounter = Counter.builder("datasource.readonly.route")
+                .description("只读事务的连接路由次数")
+                .tag("route", REPLICA)
+                .register(meterRegistry);
+        this.fallbackCounter = Counter.builder("datasource.readonly.route")
+                .description("只读事务的连接路由次数")
+                .tag("route", PRIMARY)
+                .register(meterRegistry);
+        setTargetDataSources(Map.of(PRIMARY, primary, REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        setLenientFallback(false);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (lagMonitor.isUsable()) {
+            replicaCounter.increment();
+            return REPLICA;
+        }
+        fallbackCounter.increment();
+        return PRIMARY;
+    }
+}
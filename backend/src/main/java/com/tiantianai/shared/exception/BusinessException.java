@@ -1,15 +1,55 @@
 package com.tiantianai.shared.exception;
 
+import lombok.Getter;
+import org.springframework.http.HttpStatus;
+
 /**
  * 业务异常
+ * 由 {@link ErrorCode} 创建的实例不带堆栈、不可追加 suppressed 异常，可在线程间共享；
+ * 直接传入信息构造的实例保留堆栈，用于目录之外的异常情况
  */
+@Getter
 public class BusinessException extends RuntimeException {
 
+    /**
+     * 响应码，默认 500
+     */
+    private final Integer code;
+
+    /**
+     * 对应的错误码，目录之外的异常为 null
+     */
+    private final ErrorCode errorCode;
+
     public BusinessException(String message) {
+        this(500, message);
+    }
+
+    public BusinessException(Integer code, String message) {
         super(message);
+        this.code = code;
+        this.errorCode = null;
     }
 
     public BusinessException(String message, Throwable cause) {
         super(message, cause);
+        this.code = 500;
+        this.errorCode = null;
+    }
+
+    /**
+     * 仅供 {@link ErrorCode} 预先创建实例
+     */
+    BusinessException(ErrorCode errorCode) {
+        super(errorCode.getMessage(), null, false, false);
+        this.code = errorCode.getCode();
+        this.errorCode = errorCode;
+    }
+
+    /**
+     * HTTP 状态，目录之外的异常沿用 200
+     */
+    public HttpStatus getStatus() {
+        return errorCode != null ? errorCode.getStatus() : HttpStatus.OK;
     }
 }
@@ -0,0 +1,86 @@
+package com.tiantianai.shared.exception;
+
+import lombok.Getter;
+import org.springframework.http.HttpStatus;
+
+import java.util.function.Function;
+
+/**
+ * 业务错误码目录
+ * 每个错误码对应 Result 中的 code、HTTP 状态与提示信息，并预先创建一个不带堆栈的异常实例，
+ * 抛出时不再分配对象或采集堆栈。
+ * code 与 HTTP 状态沿用原有取值：普通业务错误以 200 返回、code 为 500，
+ * 前端仅在 HTTP 401 时触发重新认证，登录失败不能映射为 401
+ */
+@Getter
+public enum ErrorCode {
+
+    BAD_CREDENTIALS(500, HttpStatus.OK, "用户名或密码错误"),
+    ACCOUNT_DISABLED(500, HttpStatus.OK, "账号已被禁用"),
+    USER_NOT_FOUND(500, HttpStatus.OK, "用户不存在"),
+
+    REFRESH_TOKEN_INVALID(500, HttpStatus.OK, "刷新令牌无效"),
+    REFRESH_TOKEN_EXPIRED(500, HttpStatus.OK, "刷新令牌已过期"),
+    REFRESH_TOKEN_REUSED(500, HttpStatus.OK, "刷新令牌已失效，请重新登录"),
+
+    TOKEN_INVALID(400, HttpStatus.BAD_REQUEST, "令牌格式错误或签名无效"),
+
+    USER_LIST_SORT_INVALID(500, HttpStatus.OK, "排序方式只能是 id 或 createdAt"),
+    USER_LIST_CURSOR_INVALID(500, HttpStatus.OK, "分页游标无效"),
+    USER_EXPORT_FORMAT_INVALID(500, HttpStatus.OK, "导出格式只能是 csv 或 ndjson"),
+
+    USER_IMPORT_JOB_ID_INVALID(500, HttpStatus.OK, "导入任务 ID 只能包含字母、数字、下划线和连字符，且不超过 64 个字符"),
+    USER_IMPORT_NOT_FOUND(500, HttpStatus.OK, "导入任务不存在"),
+    USER_IMPORT_RUNNING(500, HttpStatus.OK, "导入任务正在执行"),
+    USER_IMPORT_FILE_MISSING(500, HttpStatus.OK, "导入文件不存在，请重新上传"),
+
+    LOGIN_ATTEMPTS_EXCEEDED(429, HttpStatus.TOO_MANY_REQUESTS, "登录尝试过于频繁，请稍后再试",
+            TooManyRequestsException::new),
+    LOGIN_FAILURES_EXCEEDED(429, HttpStatus.TOO_MANY_REQUESTS, "登录失败次数过多，请稍后再试",
+            TooManyRequestsException::new),
+
+    PASSWORD_HASH_BUSY(503, HttpStatus.SERVICE_UNAVAILABLE, "登录请求过多，请稍后重试",
+            ServerBusyException::new),
+    PASSWORD_HASH_INTERRUPTED(503, HttpStatus.SERVICE_UNAVAILABLE, "登录请求已中断",
+            ServerBusyException::new),
+    USER_EXPORT_BUSY(503, HttpStatus.SERVICE_UNAVAILABLE, "导出请求过多，请稍后重试",
+            ServerBusyException::new);
+
+    /**
+     * Result 中的响应码
+     */
+    private final int code;
+
+    /**
+     * HTTP 状态
+     */
+    private final HttpStatus status;
+
+    /**
+     * 提示信息
+     */
+    private final String message;
+
+    /**
+     * 预先创建的不带堆栈的异常
+     */
+    private final BusinessException exception;
+
+    ErrorCode(int code, HttpStatus status, String message) {
+        this(code, status, message, BusinessException::new);
+    }
+
+    ErrorCode(int code, HttpStatus status, String message, Function<ErrorCode, BusinessException> factory) {
+        this.code = code;
+        this.status = status;
+        this.message = message;
+        this.exception = factory.apply(this);
+    }
+
+    /**
+     * 返回预先创建的异常，用法为 {@code throw ErrorCode.BAD_CREDENTIALS.exception()}
+     */
+    public BusinessException exception() {
+        return exception;
+    }
+}
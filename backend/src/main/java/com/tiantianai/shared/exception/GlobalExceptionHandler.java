@@ -1,29 +1,84 @@
 package com.tiantianai.shared.exception;
 
 import com.tiantianai.shared.common.Result;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.validation.BindException;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 
+import java.util.EnumMap;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 /**
  * 全局异常处理器
+ * 每次处理按 handler、异常类型、返回码与错误码计数（app.exceptions），标签取值均为有限集合。
+ * 错误码目录中的业务异常属于预期结果，只计数并输出一行 DEBUG 日志，不打印堆栈
  */
 @Slf4j
 @RestControllerAdvice
 public class GlobalExceptionHandler {
 
+    private static final String NO_ERROR_CODE = "none";
+
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * 错误码目录对应的计数器，预先注册
+     */
+    private final Map<ErrorCode, Counter> errorCodeCounters = new EnumMap<>(ErrorCode.class);
+
+    public GlobalExceptionHandler(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        for (ErrorCode errorCode : ErrorCode.values()) {
+            BusinessException e = errorCode.exception();
+            errorCodeCounters.put(errorCode, counter(handlerOf(e), e, e.getCode(), errorCode.name()));
+        }
+    }
+
     /**
-     * 处理业务异常
+     * 处理业务异常，HTTP 状态取自错误码
      */
     @ExceptionHandler(BusinessException.class)
-    public Result<Void> handleBusinessException(BusinessException e) {
-        log.error("业务异常: {}", e.getMessage(), e);
-        return Result.error(e.getMessage());
+    public ResponseEntity<Result<Void>> handleBusinessException(BusinessException e) {
+        if (e.getErrorCode() == null) {
+            log.warn("业务异常: {}", e.getMessage(), e.getCause());
+        }
+        count(e);
+        return ResponseEntity.status(e.getStatus()).body(Result.error(e.getCode(), e.getMessage()));
+    }
+
+    /**
+     * 处理服务繁忙异常
+     */
+    @ExceptionHandler(ServerBusyException.class)
+    @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+    public Result<Void> handleServerBusyException(ServerBusyException e) {
+        if (e.getErrorCode() == null) {
+            log.warn("服务繁忙: {}", e.getMessage());
+        }
+        count(e);
+        return Result.error(e.getCode(), e.getMessage());
+    }
+
+    /**
+     * 处理请求过于频繁异常
+     */
+    @ExceptionHandler(TooManyRequestsException.class)
+    @ResponseStatus(HttpStatus.TOO_MANY_REQUESTS)
+    public Result<Void> handleTooManyRequestsException(TooManyRequestsException e) {
+        if (e.getErrorCode() == null) {
+            log.warn("请求过于频繁: {}", e.getMessage());
+        }
+        count(e);
+        return Result.error(e.getCode(), e.getMessage());
     }
 
     /**
@@ -35,6 +90,7 @@ public class GlobalExceptionHandler {
                 .map(FieldError::getDefaultMessage)
                 .collect(Collectors.joining(", "));
         log.error("参数校验失败: {}", message);
+        count("validation", e, 400);
         return Result.error(400, message);
     }
 
@@ -47,6 +103,7 @@ public class GlobalExceptionHandler {
                 .map(FieldError::getDefaultMessage)
                 .collect(Collectors.joining(", "));
         log.error("参数绑定失败: {}", message);
+        count("binding", e, 400);
         return Result.error(400, message);
     }
 
@@ -56,6 +113,7 @@ public class GlobalExceptionHandler {
     @ExceptionHandler(RuntimeException.class)
     public Result<Void> handleRuntimeException(RuntimeException e) {
         log.error("运行时异常: {}", e.getMessage(), e);
+        count("runtime", e, 500);
         return Result.error("运行时异常: " + e.getMessage());
     }
 
@@ -65,6 +123,40 @@ public class GlobalExceptionHandler {
     @ExceptionHandler(Exception.class)
     public Result<Void> handleException(Exception e) {
         log.error("系统异常: {}", e.getMessage(), e);
+        count("unhandled", e, 500);
         return Result.error("系统异常，请联系管理员");
     }
+
+    private void count(BusinessException e) {
+        if (e.getErrorCode() != null) {
+            log.debug("业务异常 code={} error={}", e.getCode(), e.getErrorCode());
+            errorCodeCounters.get(e.getErrorCode()).increment();
+        } else {
+            count(handlerOf(e), e, e.getCode());
+        }
+    }
+
+    private void count(String handler, Exception e, Integer code) {
+        counter(handler, e, code, NO_ERROR_CODE).increment();
+    }
+
+    private Counter counter(String handler, Exception e, Integer code, String errorCode) {
+        return Counter.builder("app.exceptions")
+                .description("全局异常处理次数")
+                .tag("handler", handler)
+                .tag("exception", e.getClass().getSimpleName())
+                .tag("code", String.valueOf(code))
+                .tag("error", errorCode)
+                .register(meterRegistry);
+    }
+
+    private static String handlerOf(BusinessException e) {
+        if (e instanceof ServerBusyException) {
+            return "busy";
+        }
+        if (e instanceof TooManyRequestsException) {
+            return "throttled";
+        }
+        return "business";
+    }
 }
@@ -0,0 +1,16 @@
+package com.tiantianai.shared.exception;
+
+/**
+ * 服务繁忙异常
+ * 受保护资源已满载时快速拒绝，返回 503
+ */
+public class ServerBusyException extends BusinessException {
+
+    public ServerBusyException(String message) {
+        super(503, message);
+    }
+
+    ServerBusyException(ErrorCode errorCode) {
+        super(errorCode);
+    }
+}
@@ -0,0 +1,15 @@
+package com.tiantianai.shared.exception;
+
+/**
+ * 请求过于频繁异常，返回 429
+ */
+public class TooManyRequestsException extends BusinessException {
+
+    public TooManyRequestsException(String message) {
+        super(429, message);
+    }
+
+    TooManyRequestsException(ErrorCode errorCode) {
+        super(errorCode);
+    }
+}
@@ -0,0 +1,36 @@
+package com.tiantianai.shared.logging;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.stereotype.Component;
+
+/**
+ * 异步日志指标
+ * logging.async.dropped 按 reason 区分按级别丢弃（discarded）与队列满丢弃（overflow），
+ * logging.async.queue.size 为当前排队数
+ */
+@Component
+public class AsyncLoggingMetrics implements MeterBinder {
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CountingAsyncAppender.stats().forEach((name, stats) -> {
+            FunctionCounter.builder("logging.async.dropped", stats, CountingAsyncAppender.Stats::discarded)
+                    .description("异步日志丢弃的事件数")
+                    .tag("appender", name)
+                    .tag("reason", "discarded")
+                    .register(registry);
+            FunctionCounter.builder("logging.async.dropped", stats, CountingAsyncAppender.Stats::overflowed)
+                    .description("异步日志丢弃的事件数")
+                    .tag("appender", name)
+                    .tag("reason", "overflow")
+                    .register(registry);
+            Gauge.builder("logging.async.queue.size", stats, CountingAsyncAppender.Stats::queueSize)
+                    .description("异步日志队列中的事件数")
+                    .tag("appender", name)
+                    .register(registry);
+        });
+    }
+}
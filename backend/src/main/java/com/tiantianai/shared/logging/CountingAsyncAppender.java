@@ -0,0 +1,90 @@
+package com.tiantianai.shared.logging;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 统计丢弃数量的异步日志 Appender
+ * 行为与 {@link AsyncAppender} 相同：剩余容量低于 discardingThreshold 时丢弃 INFO 及以下事件，
+ * neverBlock 时队列已满直接丢弃；两类丢弃分别计数，由 {@link AsyncLoggingMetrics} 暴露为指标。
+ * 统计按 Appender 名称保存，日志系统重新配置后继续累计
+ */
+public class CountingAsyncAppender extends AsyncAppender {
+
+    private static final Map<String, Stats> STATS = new ConcurrentHashMap<>();
+
+    private Stats stats;
+
+    @Override
+    public void start() {
+        stats = STATS.computeIfAbsent(getName(), name -> new Stats());
+        stats.appender = this;
+        super.start();
+    }
+
+    @Override
+    public void stop() {
+        super.stop();
+        if (stats != null && stats.appender == this) {
+            stats.appender = null;
+        }
+    }
+
+    @Override
+    protected void append(ILoggingEvent event) {
+        if (isQueueBelowDiscardingThreshold() && isDiscardable(event)) {
+            stats.discarded.increment();
+            return;
+        }
+        if (isNeverBlock() && getRemainingCapacity() == 0) {
+            stats.overflowed.increment();
+            return;
+        }
+        super.append(event);
+    }
+
+    /**
+     * 各 Appender 的统计，按名称索引
+     */
+    public static Map<String, Stats> stats() {
+        return Collections.unmodifiableMap(STATS);
+    }
+
+    /**
+     * 单个 Appender 的丢弃计数与队列长度
+     */
+    public static final class Stats {
+
+        private final LongAdder discarded = new LongAdder();
+        private final LongAdder overflowed = new LongAdder();
+
+        private volatile CountingAsyncAppender appender;
+
+        /**
+         * 队列接近满时按级别丢弃的事件数
+         */
+        public double discarded() {
+            return discarded.sum();
+        }
+
+        /**
+         * 队列已满被丢弃的事件数
+         */
+        public double overflowed() {
+            return overflowed.sum();
+        }
+
+        /**
+         * 当前排队的事件数
+         */
+        public double queueSize() {
+            CountingAsyncAppender current = appender;
+            return current != null ? current.getNumberOfElementsInQueue() : 0;
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.tiantianai.shared.logging;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 日志限流
+ * 每个时间窗口内最多放行固定条数，用于每个请求都会触发的日志，
+ * 配额用完后只做一次读取，不再竞争计数
+ */
+public final class LogSampler {
+
+    private final long windowNanos;
+    private final int permits;
+
+    private final AtomicLong windowStartedAt = new AtomicLong(System.nanoTime());
+    private final AtomicInteger used = new AtomicInteger();
+
+    private LogSampler(long windowNanos, int permits) {
+        this.windowNanos = windowNanos;
+        this.permits = permits;
+    }
+
+    /**
+     * 每秒最多放行 permits 条
+     */
+    public static LogSampler perSecond(int permits) {
+        return new LogSampler(TimeUnit.SECONDS.toNanos(1), permits);
+    }
+
+    /**
+     * 当前窗口内是否还可以输出
+     */
+    public boolean tryAcquire() {
+        long now = System.nanoTime();
+        long startedAt = windowStartedAt.get();
+        if (now - startedAt >= windowNanos && windowStartedAt.compareAndSet(startedAt, now)) {
+            used.set(0);
+        }
+        return used.get() < permits && used.incrementAndGet() <= permits;
+    }
+}
@@ -0,0 +1,75 @@
+package com.tiantianai.shared.security;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 按目标耗时校准 cost 的 BCrypt 编码器
+ * 存储的哈希版本不同或 cost 低于当前目标时 {@link #upgradeEncoding} 返回 true，
+ * 由登录成功后后台重新哈希。cost 只升不降：各节点硬件不同、校准结果不一致时，
+ * 低 cost 节点不会把高 cost 节点刚写入的哈希改回去，避免同一用户在节点间反复重哈希
+ */
+@Slf4j
+@Getter
+public class CalibratedPasswordEncoder extends BCryptPasswordEncoder {
+
+    private static final Pattern BCRYPT_PATTERN = Pattern.compile("^(\\$2[aby])\\$(\\d\\d)\\$[./0-9A-Za-z]{53}$");
+
+    private static final BCryptVersion VERSION = BCryptVersion.$2A;
+
+    private final int strength;
+
+    public CalibratedPasswordEncoder(int strength) {
+        super(VERSION, strength);
+        this.strength = strength;
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        if (encodedPassword == null) {
+            return false;
+        }
+        Matcher matcher = BCRYPT_PATTERN.matcher(encodedPassword);
+        if (!matcher.matches()) {
+            return true;
+        }
+        return !VERSION.getVersion().equals(matcher.group(1))
+                || Integer.parseInt(matcher.group(2)) < strength;
+    }
+
+    /**
+     * 在当前硬件上测量，选出单次校验不超过目标耗时的最大 cost
+     * cost 每加一耗时翻倍，因此只需在最小 cost 上测量一次再推算
+     */
+    public static int calibrate(Duration targetLatency, int minStrength, int maxStrength) {
+        BCryptPasswordEncoder probe = new BCryptPasswordEncoder(VERSION, minStrength);
+        String hash = probe.encode("calibration-probe");
+        probe.matches("calibration-probe", hash);
+
+        long[] samples = new long[3];
+        for (int i = 0; i < samples.length; i++) {
+            long start = System.nanoTime();
+            probe.matches("calibration-probe", hash);
+            samples[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(samples);
+        long baseNanos = samples[samples.length / 2];
+
+        int strength = minStrength;
+        long targetNanos = targetLatency.toNanos();
+        while (strength < maxStrength && baseNanos << (strength + 1 - minStrength) <= targetNanos) {
+            strength++;
+        }
+
+        log.info("BCrypt 校准完成：cost {} 实测 {} ms，选定 cost {}（预计 {} ms，目标 {} ms）",
+                minStrength, baseNanos / 1_000_000, strength,
+                (baseNanos << (strength - minStrength)) / 1_000_000, targetLatency.toMillis());
+        return strength;
+    }
+}
@@ -1,15 +1,17 @@
 package com.tiantianai.shared.security;
 
 import com.tiantianai.shared.config.JwtProperties;
+import com.tiantianai.shared.logging.LogSampler;
+import com.tiantianai.shared.timing.RequestTiming;
 import com.tiantianai.shared.util.JwtUtil;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
@@ -17,63 +19,110 @@ import org.springframework.util.StringUtils;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
-import java.util.Set;
-import java.util.stream.Collectors;
+import java.util.concurrent.TimeUnit;
 
 /**
  * JWT 认证过滤器
+ * 携带 Token 的请求按结果记录验证耗时（auth.jwt.verify），计时器预先创建，热路径上不查找指标；
+ * 请求被分阶段采集时同一耗时计入 jwt 阶段
  */
 @Slf4j
 @Component
-@RequiredArgsConstructor
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
+    private static final LogSampler DEBUG_LOG_SAMPLER = LogSampler.perSecond(10);
+    private static final LogSampler FAILURE_LOG_SAMPLER = LogSampler.perSecond(10);
+
     private final JwtUtil jwtUtil;
     private final JwtProperties jwtProperties;
+    private final VerifiedTokenCache verifiedTokenCache;
+    private final TokenDenylist tokenDenylist;
+
+    private final Timer authenticatedTimer;
+    private final Timer revokedTimer;
+    private final Timer invalidTimer;
+
+    public JwtAuthenticationFilter(JwtUtil jwtUtil,
+                                   JwtProperties jwtProperties,
+                                   VerifiedTokenCache verifiedTokenCache,
+                                   TokenDenylist tokenDenylist,
+                                   MeterRegistry meterRegistry) {
+        this.jwtUtil = jwtUtil;
+        this.jwtProperties = jwtProperties;
+        this.verifiedTokenCache = verifiedTokenCache;
+        this.tokenDenylist = tokenDenylist;
+        this.authenticatedTimer = verifyTimer("authenticated", meterRegistry);
+        this.revokedTimer = verifyTimer("revoked", meterRegistry);
+        this.invalidTimer = verifyTimer("invalid", meterRegistry);
+    }
+
+    private static Timer verifyTimer(String outcome, MeterRegistry meterRegistry) {
+        return Timer.builder("auth.jwt.verify")
+                .description("JWT 验证耗时（含缓存查找与吊销检查）")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
 
     @Override
     protected void doFilterInternal(HttpServletRequest request,
                                     HttpServletResponse response,
                                     FilterChain filterChain) throws ServletException, IOException {
+        long startedAt = 0;
         try {
             // 从请求头中获取 JWT Token
             String token = getTokenFromRequest(request);
 
-            // 验证 Token
-            if (StringUtils.hasText(token) && jwtUtil.validateToken(token)) {
-                // 从 Token 中提取用户信息
-                Long userId = jwtUtil.getUserIdFromToken(token);
-                String username = jwtUtil.getUsernameFromToken(token);
-                Set<String> roles = jwtUtil.getRolesFromToken(token);
+            if (StringUtils.hasText(token)) {
+                startedAt = System.nanoTime();
+                // 验证 Token，缓存命中时跳过验签；加载函数只做验签，不在缓存锁内阻塞
+                JwtPrincipal principal = verifiedTokenCache.get(token, jwtUtil::parseToken);
 
-                // 转换角色为权限
-                var authorities = roles.stream()
-                        .map(role -> new SimpleGrantedAuthority("ROLE_" + role))
-                        .collect(Collectors.toList());
+                // 已吊销的 Token 不建立认证
+                if (tokenDenylist.isRevoked(principal.getTokenId())) {
+                    recordVerify(revokedTimer, startedAt);
+                    if (log.isDebugEnabled() && DEBUG_LOG_SAMPLER.tryAcquire()) {
+                        log.debug("Token 已吊销，用户: {}", principal.getUsername());
+                    }
+                    filterChain.doFilter(request, response);
+                    return;
+                }
 
-                // 创建认证对象
-                // 使用 userId 作为 principal，方便后续获取
+                // 创建认证对象，权限已在主体中预先生成
                 UsernamePasswordAuthenticationToken authentication =
                         new UsernamePasswordAuthenticationToken(
-                                userId.toString(), // 使用 userId 字符串作为 principal
+                                principal,
                                 null,
-                                authorities
+                                principal.getAuthorities()
                         );
 
                 authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
 
                 // 设置到安全上下文中
                 SecurityContextHolder.getContext().setAuthentication(authentication);
+                recordVerify(authenticatedTimer, startedAt);
 
-                log.debug("JWT 认证成功，用户: {}", username);
+                if (log.isDebugEnabled() && DEBUG_LOG_SAMPLER.tryAcquire()) {
+                    log.debug("JWT 认证成功，用户: {}", principal.getUsername());
+                }
             }
         } catch (Exception e) {
-            log.error("JWT 认证失败: {}", e.getMessage());
+            if (startedAt != 0) {
+                recordVerify(invalidTimer, startedAt);
+            }
+            if (FAILURE_LOG_SAMPLER.tryAcquire()) {
+                log.error("JWT 认证失败: {}", e.getMessage());
+            }
         }
 
         filterChain.doFilter(request, response);
     }
 
+    private static void recordVerify(Timer timer, long startedAt) {
+        long elapsed = System.nanoTime() - startedAt;
+        timer.record(elapsed, TimeUnit.NANOSECONDS);
+        RequestTiming.recordCurrent(RequestTiming.Phase.JWT, elapsed);
+    }
+
     /**
      * 从请求头中获取 Token
      */
@@ -0,0 +1,76 @@
+package com.tiantianai.shared.security;
+
+import lombok.Getter;
+import org.springframework.security.core.AuthenticatedPrincipal;
+import org.springframework.security.core.GrantedAuthority;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * 已验证的 JWT 主体
+ * 一次验签后得到的不可变声明，角色与权限列表按角色掩码共享，
+ * Controller 通过 {@code @AuthenticationPrincipal JwtPrincipal} 直接获取
+ */
+@Getter
+public final class JwtPrincipal implements AuthenticatedPrincipal {
+
+    /**
+     * Token ID（jti），用于吊销
+     */
+    private final String tokenId;
+
+    /**
+     * 用户 ID
+     */
+    private final Long userId;
+
+    /**
+     * 用户名
+     */
+    private final String username;
+
+    /**
+     * 用户角色（按掩码共享的实例）
+     */
+    private final RoleSet roles;
+
+    /**
+     * 过期时间
+     */
+    private final Instant expiresAt;
+
+    /**
+     * 预先生成的权限列表，同一角色组合的主体共享
+     */
+    private final List<GrantedAuthority> authorities;
+
+    public JwtPrincipal(String tokenId, Long userId, String username, RoleSet roles, Instant expiresAt) {
+        this.tokenId = tokenId;
+        this.userId = userId;
+        this.username = username;
+        this.roles = roles;
+        this.expiresAt = expiresAt;
+        this.authorities = roles.authorities();
+    }
+
+    /**
+     * 判断在给定时刻是否已过期
+     */
+    public boolean isExpired(Instant now) {
+        return expiresAt != null && !expiresAt.isAfter(now);
+    }
+
+    /**
+     * 保持与 {@code Authentication.getName()} 返回 userId 的约定一致
+     */
+    @Override
+    public String getName() {
+        return String.valueOf(userId);
+    }
+
+    @Override
+    public String toString() {
+        return getName();
+    }
+}
@@ -0,0 +1,177 @@
+package com.tiantianai.shared.security;
+
+import com.tiantianai.shared.config.PasswordHashProperties;
+import com.tiantianai.shared.exception.ErrorCode;
+import com.tiantianai.shared.exception.ServerBusyException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 密码哈希执行器
+ * BCrypt 在独立的有界线程池中执行，队列满时立即拒绝，
+ * 避免登录高峰占满 Tomcat 工作线程而拖慢其他接口。
+ * 启用虚拟线程后请求线程不再有上限，BCrypt 这类 CPU 密集任务仍固定使用平台线程，
+ * 其并发度只由本线程池决定。
+ * 登录后的重新哈希使用另一个更小的低优先级线程池，队列满时直接丢弃，
+ * 不与登录校验争用线程和队列
+ */
+@Slf4j
+@Component
+public class PasswordHashExecutor implements DisposableBean {
+
+    private final PasswordEncoder passwordEncoder;
+    private final PasswordHashProperties properties;
+    private final ThreadPoolExecutor executor;
+    private final ThreadPoolExecutor rehashExecutor;
+
+    private final Timer waitTimer;
+    private final Timer hashTimer;
+    private final Counter rejectedCounter;
+    private final Counter rehashDroppedCounter;
+
+    public PasswordHashExecutor(PasswordEncoder passwordEncoder,
+                                PasswordHashProperties properties,
+                                MeterRegistry meterRegistry) {
+        this.passwordEncoder = passwordEncoder;
+        this.properties = properties;
+        this.executor = new ThreadPoolExecutor(
+                properties.getPoolSize(),
+                properties.getPoolSize(),
+                0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(properties.getQueueCapacity()),
+                new NamedThreadFactory("password-hash-", Thread.NORM_PRIORITY),
+                new ThreadPoolExecutor.AbortPolicy());
+        this.rehashExecutor = new ThreadPoolExecutor(
+                properties.getRehashPoolSize(),
+                properties.getRehashPoolSize(),
+                0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(properties.getRehashQueueCapacity()),
+                new NamedThreadFactory("password-rehash-", Thread.MIN_PRIORITY),
+                new ThreadPoolExecutor.AbortPolicy());
+
+        this.waitTimer = Timer.builder("password.hash.wait")
+                .description("密码校验任务排队等待时间")
+                .register(meterRegistry);
+        this.hashTimer = Timer.builder("password.hash.duration")
+                .description("单次密码哈希耗时")
+                .register(meterRegistry);
+        this.rejectedCounter = Counter.builder("password.hash.rejected")
+                .description("队列已满被拒绝的密码校验次数")
+                .register(meterRegistry);
+        this.rehashDroppedCounter = Counter.builder("password.rehash.dropped")
+                .description("重新哈希队列已满被丢弃的次数")
+                .register(meterRegistry);
+        Gauge.builder("password.hash.queue.depth", executor, e -> e.getQueue().size())
+                .description("等待执行的密码校验任务数")
+                .register(meterRegistry);
+        Gauge.builder("password.hash.active", executor, ThreadPoolExecutor::getActiveCount)
+                .description("正在执行的密码校验任务数")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 在哈希线程池中校验密码，调用线程等待结果
+     *
+     * @throws ServerBusyException 队列已满或等待超时
+     */
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        long submittedAt = System.nanoTime();
+        Future<Boolean> future;
+        try {
+            future = executor.submit(() -> {
+                long startedAt = System.nanoTime();
+                waitTimer.record(startedAt - submittedAt, TimeUnit.NANOSECONDS);
+                try {
+                    return passwordEncoder.matches(rawPassword, encodedPassword);
+                } finally {
+                    hashTimer.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            rejectedCounter.increment();
+            throw ErrorCode.PASSWORD_HASH_BUSY.exception();
+        }
+
+        try {
+            return future.get(properties.getMaxWait().toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            rejectedCounter.increment();
+            throw ErrorCode.PASSWORD_HASH_BUSY.exception();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw ErrorCode.PASSWORD_HASH_INTERRUPTED.exception();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("密码校验失败", e.getCause());
+        }
+    }
+
+    /**
+     * 判断存储的哈希是否需要按当前配置重新生成
+     */
+    public boolean needsRehash(String encodedPassword) {
+        return passwordEncoder.upgradeEncoding(encodedPassword);
+    }
+
+    /**
+     * 在重新哈希线程池中异步生成新哈希
+     * 尽力而为：队列已满时丢弃并返回失败的 Future，不影响调用方
+     */
+    public CompletableFuture<String> rehashAsync(CharSequence rawPassword) {
+        try {
+            return CompletableFuture.supplyAsync(() -> {
+                long startedAt = System.nanoTime();
+                try {
+                    return passwordEncoder.encode(rawPassword);
+                } finally {
+                    hashTimer.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+                }
+            }, rehashExecutor);
+        } catch (RejectedExecutionException e) {
+            rehashDroppedCounter.increment();
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdown();
+        rehashExecutor.shutdown();
+    }
+
+    /**
+     * 线程优先级在 Linux 默认调度下基本不生效，重新哈希的开销主要由线程数和队列容量限制
+     */
+    private static class NamedThreadFactory implements ThreadFactory {
+
+        private final String prefix;
+        private final int priority;
+        private final AtomicInteger sequence = new AtomicInteger();
+
+        NamedThreadFactory(String prefix, int priority) {
+            this.prefix = prefix;
+            this.priority = priority;
+        }
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, prefix + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            thread.setPriority(priority);
+            return thread;
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.tiantianai.shared.security;
+
+import java.util.Collection;
+
+/**
+ * 角色掩码与角色集合之间的转换
+ * 共享层只依赖此接口，由用户模块的角色字典实现
+ */
+public interface RoleResolver {
+
+    /**
+     * 由掩码获取角色集合
+     */
+    RoleSet rolesOf(long mask);
+
+    /**
+     * 由角色编码计算掩码，忽略未登记的角色
+     */
+    long maskOfExisting(Collection<String> codes);
+}
@@ -0,0 +1,76 @@
+package com.tiantianai.shared.security;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.*;
+
+/**
+ * 以 long 位掩码表示的不可变角色集合
+ * 同一掩码的实例由 RoleRegistry 共享，权限列表在构造时生成一次
+ */
+public final class RoleSet extends AbstractSet<String> {
+
+    private final long mask;
+    private final String[] codesByBit;
+    private final Map<String, Integer> bitByCode;
+    private final List<GrantedAuthority> authorities;
+
+    public RoleSet(long mask, String[] codesByBit, Map<String, Integer> bitByCode) {
+        this.mask = mask;
+        this.codesByBit = codesByBit;
+        this.bitByCode = bitByCode;
+        List<GrantedAuthority> list = new ArrayList<>(Long.bitCount(mask));
+        for (String code : this) {
+            list.add(new SimpleGrantedAuthority("ROLE_" + code));
+        }
+        this.authorities = Collections.unmodifiableList(list);
+    }
+
+    /**
+     * 角色位掩码
+     */
+    public long mask() {
+        return mask;
+    }
+
+    /**
+     * 预先生成的权限列表
+     */
+    public List<GrantedAuthority> authorities() {
+        return authorities;
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        Integer bit = bitByCode.get(o);
+        return bit != null && (mask & (1L << bit)) != 0;
+    }
+
+    @Override
+    public int size() {
+        return Long.bitCount(mask);
+    }
+
+    @Override
+    public Iterator<String> iterator() {
+        return new Iterator<>() {
+            private long remaining = mask;
+
+            @Override
+            public boolean hasNext() {
+                return remaining != 0;
+            }
+
+            @Override
+            public String next() {
+                if (remaining == 0) {
+                    throw new NoSuchElementException();
+                }
+                int bit = Long.numberOfTrailingZeros(remaining);
+                remaining &= remaining - 1;
+                return bit < codesByBit.length && codesByBit[bit] != null ? codesByBit[bit] : "#" + bit;
+            }
+        };
+    }
+}
@@ -0,0 +1,111 @@
+package com.tiantianai.shared.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 按键计数的滑动窗口限流器
+ * 每个键的状态（窗口序号、上一窗口计数、当前窗口计数）压缩在一个 AtomicLong 中，
+ * 通过 CAS 无锁更新；键集合由 Caffeine 按容量与最近访问时间淘汰，内存有界。
+ * 全程不持有监视器锁，也不做阻塞调用，虚拟线程下不会钉住载体线程
+ */
+public class SlidingWindowLimiter {
+
+    private static final int MAX_COUNT = 0xFFFF;
+
+    private final long windowMillis;
+    private final int limit;
+    private final Cache<String, Counter> counters;
+
+    public SlidingWindowLimiter(Duration window, int limit, long maximumKeys) {
+        this.windowMillis = window.toMillis();
+        this.limit = limit;
+        this.counters = Caffeine.newBuilder()
+                .maximumSize(maximumKeys)
+                .expireAfterAccess(window.multipliedBy(2))
+                .build();
+    }
+
+    /**
+     * 判断键在当前滑动窗口内是否已达上限
+     */
+    public boolean isLimited(String key) {
+        Counter counter = counters.getIfPresent(key);
+        return counter != null && counter.estimate(System.currentTimeMillis()) >= limit;
+    }
+
+    /**
+     * 记录一次事件
+     */
+    public void record(String key) {
+        counters.get(key, k -> new Counter()).increment(System.currentTimeMillis());
+    }
+
+    /**
+     * 清除键的计数
+     */
+    public void reset(String key) {
+        counters.invalidate(key);
+    }
+
+    /**
+     * 当前跟踪的键数量
+     */
+    public long trackedKeys() {
+        return counters.estimatedSize();
+    }
+
+    /**
+     * 状态布局：高 32 位为窗口序号，中 16 位为上一窗口计数，低 16 位为当前窗口计数
+     */
+    private final class Counter {
+
+        private final AtomicLong state = new AtomicLong();
+
+        void increment(long now) {
+            int window = (int) (now / windowMillis);
+            long current;
+            long next;
+            do {
+                current = state.get();
+                int stateWindow = (int) (current >>> 32);
+                int previous = (int) (current >>> 16) & MAX_COUNT;
+                int count = (int) current & MAX_COUNT;
+                if (stateWindow == window) {
+                    next = pack(window, previous, Math.min(count + 1, MAX_COUNT));
+                } else if (stateWindow == window - 1) {
+                    next = pack(window, count, 1);
+                } else {
+                    next = pack(window, 0, 1);
+                }
+            } while (!state.compareAndSet(current, next));
+        }
+
+        double estimate(long now) {
+            int window = (int) (now / windowMillis);
+            long current = state.get();
+            int stateWindow = (int) (current >>> 32);
+            int previous;
+            int count;
+            if (stateWindow == window) {
+                previous = (int) (current >>> 16) & MAX_COUNT;
+                count = (int) current & MAX_COUNT;
+            } else if (stateWindow == window - 1) {
+                previous = (int) current & MAX_COUNT;
+                count = 0;
+            } else {
+                return 0;
+            }
+            // 上一窗口按未被当前窗口覆盖的比例计入
+            double weight = 1.0 - (double) (now % windowMillis) / windowMillis;
+            return previous * weight + count;
+        }
+
+        private static long pack(int window, int previous, int count) {
+            return ((long) window << 32) | ((long) previous << 16) | count;
+        }
+    }
+}
@@ -0,0 +1,163 @@
+package com.tiantianai.shared.security;
+
+import com.tiantianai.shared.config.JwtProperties;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Token 吊销名单
+ * 布隆过滤器在前，绝大多数未吊销的 Token 只需几次数组读取即可放行；
+ * 布隆命中后再查精确集合，集合中的条目在 Token 原本的过期时间之后被清除。
+ * 检查路径完全无锁。
+ */
+@Slf4j
+@Component
+public class TokenDenylist {
+
+    private final Map<String, Long> revoked = new ConcurrentHashMap<>();
+    private final int expectedInsertions;
+    private final double falsePositiveRate;
+
+    private volatile BloomFilter bloom;
+
+    /**
+     * 重建期间的新过滤器，重建时新增条目同时写入新旧两个过滤器
+     */
+    private volatile BloomFilter rebuilding;
+
+    public TokenDenylist(JwtProperties jwtProperties, MeterRegistry meterRegistry) {
+        JwtProperties.Denylist config = jwtProperties.getDenylist();
+        this.expectedInsertions = config.getExpectedInsertions();
+        this.falsePositiveRate = config.getFalsePositiveRate();
+        this.bloom = new BloomFilter(expectedInsertions, falsePositiveRate);
+        Gauge.builder("jwt.denylist.size", revoked, Map::size)
+                .description("吊销名单中尚未过期的 Token 数量")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 判断 Token 是否已被吊销
+     */
+    public boolean isRevoked(String tokenId) {
+        if (tokenId == null || !bloom.mightContain(tokenId)) {
+            return false;
+        }
+        Long expiresAt = revoked.get(tokenId);
+        return expiresAt != null && expiresAt > System.currentTimeMillis();
+    }
+
+    /**
+     * 加入吊销名单
+     *
+     * @param tokenId   Token 的 jti
+     * @param expiresAt Token 原本的过期时间，之后条目自动失效
+     */
+    public void add(String tokenId, Instant expiresAt) {
+        if (tokenId == null || !expiresAt.isAfter(Instant.now())) {
+            return;
+        }
+        revoked.put(tokenId, expiresAt.toEpochMilli());
+        BloomFilter current;
+        do {
+            current = bloom;
+            current.put(tokenId);
+            BloomFilter next = rebuilding;
+            if (next != null) {
+                next.put(tokenId);
+            }
+            // 写入期间过滤器被替换时重试，保证最终生效的过滤器包含该条目
+        } while (current != bloom);
+    }
+
+    /**
+     * 清除已过期条目并按当前规模重建布隆过滤器
+     * 仅由定时任务单线程调用
+     *
+     * @return 清除的条目数
+     */
+    public int purgeExpired() {
+        long now = System.currentTimeMillis();
+        int before = revoked.size();
+        revoked.values().removeIf(expiresAt -> expiresAt <= now);
+        int removed = before - revoked.size();
+
+        if (removed > 0) {
+            BloomFilter next = new BloomFilter(Math.max(expectedInsertions, revoked.size() * 2), falsePositiveRate);
+            rebuilding = next;
+            revoked.keySet().forEach(next::put);
+            bloom = next;
+            rebuilding = null;
+            log.debug("吊销名单已重建，清除 {} 条，剩余 {} 条", removed, revoked.size());
+        }
+        return removed;
+    }
+
+    /**
+     * 当前条目数
+     */
+    public int size() {
+        return revoked.size();
+    }
+
+    /**
+     * 基于 AtomicLongArray 的无锁布隆过滤器，使用双重哈希生成 k 个下标
+     */
+    static final class BloomFilter {
+
+        private final AtomicLongArray bits;
+        private final long bitSize;
+        private final int hashCount;
+
+        BloomFilter(int expectedInsertions, double falsePositiveRate) {
+            long m = (long) Math.ceil(-expectedInsertions * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+            int words = (int) Math.max(1, (m + 63) >>> 6);
+            this.bits = new AtomicLongArray(words);
+            this.bitSize = (long) words << 6;
+            this.hashCount = Math.max(1, (int) Math.round((double) bitSize / expectedInsertions * Math.log(2)));
+        }
+
+        void put(String key) {
+            long h1 = hash(key, 0x9E3779B97F4A7C15L);
+            long h2 = hash(key, 0xC2B2AE3D27D4EB4FL) | 1;
+            for (int i = 0; i < hashCount; i++) {
+                long index = Math.floorMod(h1 + i * h2, bitSize);
+                long mask = 1L << index;
+                int word = (int) (index >>> 6);
+                bits.getAndAccumulate(word, mask, (current, bit) -> current | bit);
+            }
+        }
+
+        boolean mightContain(String key) {
+            long h1 = hash(key, 0x9E3779B97F4A7C15L);
+            long h2 = hash(key, 0xC2B2AE3D27D4EB4FL) | 1;
+            for (int i = 0; i < hashCount; i++) {
+                long index = Math.floorMod(h1 + i * h2, bitSize);
+                if ((bits.get((int) (index >>> 6)) & (1L << index)) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private static long hash(String key, long seed) {
+            long h = seed;
+            for (int i = 0; i < key.length(); i++) {
+                h = (h ^ key.charAt(i)) * 0x100000001B3L;
+            }
+            // MurmurHash3 fmix64
+            h ^= h >>> 33;
+            h *= 0xFF51AFD7ED558CCDL;
+            h ^= h >>> 33;
+            h *= 0xC4CEB9FE1A85EC53L;
+            h ^= h >>> 33;
+            return h;
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.tiantianai.shared.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.tiantianai.shared.config.JwtProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.function.Function;
+
+/**
+ * 已验证 Token 缓存
+ * 以 Token 的 SHA-256 摘要为键缓存验签结果，命中时跳过 HMAC 与声明解析。
+ * 只有验签成功的 Token 才会写入，条目在 Token 过期时失效，容量超限按大小淘汰，
+ * 因此伪造或大量唯一 Token 不会让内存持续增长。
+ */
+@Slf4j
+@Component
+public class VerifiedTokenCache {
+
+    private final Cache<TokenDigest, JwtPrincipal> cache;
+
+    public VerifiedTokenCache(JwtProperties jwtProperties, MeterRegistry meterRegistry) {
+        JwtProperties.Cache config = jwtProperties.getCache();
+        if (config.isEnabled()) {
+            this.cache = Caffeine.newBuilder()
+                    .maximumSize(config.getMaximumSize())
+                    .expireAfter(new PrincipalExpiry())
+                    .recordStats()
+                    .build();
+            CaffeineCacheMetrics.monitor(meterRegistry, cache, "jwt.verified-tokens");
+        } else {
+            this.cache = null;
+            log.info("已验证 Token 缓存未启用");
+        }
+    }
+
+    /**
+     * 获取已验证的主体，未命中时调用 verifier 验签并写入缓存
+     *
+     * @param token    原始 Token
+     * @param verifier 验签函数，验签失败时抛出异常且不会写入缓存
+     */
+    public JwtPrincipal get(String token, Function<String, JwtPrincipal> verifier) {
+        if (cache == null) {
+            return verifier.apply(token);
+        }
+
+        TokenDigest key = TokenDigest.of(token);
+        JwtPrincipal principal = cache.getIfPresent(key);
+        if (principal != null && !principal.isExpired(Instant.now())) {
+            return principal;
+        }
+
+        principal = verifier.apply(token);
+        cache.put(key, principal);
+        return principal;
+    }
+
+    /**
+     * 缓存统计（命中、未命中、淘汰次数）
+     */
+    public CacheStats stats() {
+        return cache == null ? CacheStats.empty() : cache.stats();
+    }
+
+    /**
+     * Token 摘要，避免在内存中长期保留原始 Token
+     */
+    private record TokenDigest(long h0, long h1, long h2, long h3) {
+
+        static TokenDigest of(String token) {
+            try {
+                byte[] digest = MessageDigest.getInstance("SHA-256")
+                        .digest(token.getBytes(StandardCharsets.US_ASCII));
+                ByteBuffer buffer = ByteBuffer.wrap(digest);
+                return new TokenDigest(buffer.getLong(), buffer.getLong(), buffer.getLong(), buffer.getLong());
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException("SHA-256 不可用", e);
+            }
+        }
+    }
+
+    /**
+     * 条目存活时间不超过 Token 的 exp
+     */
+    private static class PrincipalExpiry implements Expiry<TokenDigest, JwtPrincipal> {
+
+        @Override
+        public long expireAfterCreate(TokenDigest key, JwtPrincipal value, long currentTime) {
+            if (value.getExpiresAt() == null) {
+                return 0;
+            }
+            long nanos = Duration.between(Instant.now(), value.getExpiresAt()).toNanos();
+            return Math.max(nanos, 0);
+        }
+
+        @Override
+        public long expireAfterUpdate(TokenDigest key, JwtPrincipal value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(TokenDigest key, JwtPrincipal value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package com.tiantianai.shared.timing;
+
+/**
+ * 单个请求的分阶段耗时
+ * 仅在请求被采集时绑定到当前线程；未采集时 {@link #current()} 返回 null，
+ * 各埋点只多一次 ThreadLocal 读取
+ */
+public final class RequestTiming {
+
+    private static final ThreadLocal<RequestTiming> CURRENT = new ThreadLocal<>();
+
+    /**
+     * 采集的阶段，名称即 Server-Timing 中的指标名
+     */
+    public enum Phase {
+        /**
+         * JWT 验证（含缓存查找与吊销检查）
+         */
+        JWT("jwt"),
+        /**
+         * 处理器执行，从进入 Controller 到开始写响应体，包含仓库调用
+         */
+        APP("app"),
+        /**
+         * 仓库方法调用（含 SQL 执行），按调用次数累计
+         */
+        DB("db"),
+        /**
+         * Result 响应体序列化
+         */
+        SERIALIZATION("ser");
+
+        private final String metricName;
+
+        Phase(String metricName) {
+            this.metricName = metricName;
+        }
+    }
+
+    private static final Phase[] PHASES = Phase.values();
+
+    private final long startedAt;
+    private final long[] durations = new long[PHASES.length];
+    private final int[] counts = new int[PHASES.length];
+
+    private long handlerStartedAt;
+
+    private RequestTiming(long startedAt) {
+        this.startedAt = startedAt;
+    }
+
+    /**
+     * 开始采集并绑定到当前线程
+     */
+    static RequestTiming start() {
+        RequestTiming timing = new RequestTiming(System.nanoTime());
+        CURRENT.set(timing);
+        return timing;
+    }
+
+    /**
+     * 解除当前线程的绑定
+     */
+    static void end() {
+        CURRENT.remove();
+    }
+
+    /**
+     * 当前线程正在采集的请求，未采集时返回 null
+     */
+    public static RequestTiming current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * 在当前请求上累计一个阶段的耗时，未采集时忽略
+     */
+    public static void recordCurrent(Phase phase, long nanos) {
+        RequestTiming timing = CURRENT.get();
+        if (timing != null) {
+            timing.record(phase, nanos);
+        }
+    }
+
+    public void record(Phase phase, long nanos) {
+        durations[phase.ordinal()] += nanos;
+        counts[phase.ordinal()]++;
+    }
+
+    /**
+     * 标记进入处理器
+     */
+    public void handlerStarted() {
+        handlerStartedAt = System.nanoTime();
+    }
+
+    /**
+     * 标记处理器结束（开始写响应体或请求结束），只记录一次
+     */
+    public void handlerFinished() {
+        if (handlerStartedAt != 0 && counts[Phase.APP.ordinal()] == 0) {
+            record(Phase.APP, System.nanoTime() - handlerStartedAt);
+        }
+    }
+
+    /**
+     * 从采集开始到现在的总耗时
+     */
+    public long elapsedNanos() {
+        return System.nanoTime() - startedAt;
+    }
+
+    /**
+     * 生成 Server-Timing 头的值，耗时单位为毫秒，未发生的阶段不输出
+     * 例如 {@code jwt;dur=0.182, app;dur=3.071, db;dur=2.554;desc="2 calls", ser;dur=0.094, total;dur=3.512}
+     */
+    public String toHeaderValue() {
+        StringBuilder value = new StringBuilder(128);
+        for (Phase phase : PHASES) {
+            int count = counts[phase.ordinal()];
+            if (count == 0) {
+                continue;
+            }
+            appendMetric(value, phase.metricName, durations[phase.ordinal()]);
+            if (phase == Phase.DB) {
+                value.append(";desc=\"").append(count).append(count == 1 ? " call\"" : " calls\"");
+            }
+            value.append(", ");
+        }
+        appendMetric(value, "total", elapsedNanos());
+        return value.toString();
+    }
+
+    private static void appendMetric(StringBuilder value, String name, long nanos) {
+        value.append(name).append(";dur=").append(Math.round(nanos / 1_000.0) / 1_000.0);
+    }
+}
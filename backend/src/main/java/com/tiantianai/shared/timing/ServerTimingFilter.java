@@ -0,0 +1,74 @@
+package com.tiantianai.shared.timing;
+
+import com.tiantianai.shared.config.ServerTimingProperties;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 请求分阶段耗时采集过滤器
+ * 位于安全过滤器链之前，使 JWT 验证计入采集范围；未启用或未抽中的请求直接放行。
+ * 有响应体时 Server-Timing 头由 {@link TimedJacksonHttpMessageConverter} 在写出前设置，
+ * 其余未提交的响应在此补充
+ */
+@Slf4j
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+@RequiredArgsConstructor
+public class ServerTimingFilter extends OncePerRequestFilter {
+
+    public static final String HEADER_NAME = "Server-Timing";
+
+    private final ServerTimingProperties properties;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        if (!sampled()) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        RequestTiming timing = RequestTiming.start();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            RequestTiming.end();
+            timing.handlerFinished();
+            String value = timing.toHeaderValue();
+            if (properties.isHeader() && !response.isCommitted() && !response.containsHeader(HEADER_NAME)) {
+                response.setHeader(HEADER_NAME, value);
+            }
+            logIfSlow(request, response, timing, value);
+        }
+    }
+
+    private boolean sampled() {
+        if (properties.isEnabled()) {
+            return true;
+        }
+        double sampleRate = properties.getSampleRate();
+        return sampleRate > 0 && ThreadLocalRandom.current().nextDouble() < sampleRate;
+    }
+
+    private void logIfSlow(HttpServletRequest request, HttpServletResponse response,
+                           RequestTiming timing, String value) {
+        Duration threshold = properties.getSlowThreshold();
+        if (threshold != null && timing.elapsedNanos() >= threshold.toNanos()) {
+            log.warn("慢请求 method={} uri={} status={} timing=[{}]",
+                    request.getMethod(), request.getRequestURI(), response.getStatus(), value);
+        }
+    }
+}
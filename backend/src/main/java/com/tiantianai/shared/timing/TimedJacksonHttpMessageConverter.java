@@ -0,0 +1,58 @@
+package com.tiantianai.shared.timing;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.Type;
+
+/**
+ * 可采集序列化耗时的 Jackson 转换器
+ * 未采集的请求直接走父类；采集时先序列化到内存以计时，
+ * 再在响应头提交前写入 Server-Timing，随后输出响应体
+ */
+public class TimedJacksonHttpMessageConverter extends MappingJackson2HttpMessageConverter {
+
+    private final boolean header;
+
+    public TimedJacksonHttpMessageConverter(ObjectMapper objectMapper, boolean header) {
+        super(objectMapper);
+        this.header = header;
+    }
+
+    @Override
+    protected void writeInternal(Object object, Type type, HttpOutputMessage outputMessage)
+            throws IOException, HttpMessageNotWritableException {
+        RequestTiming timing = RequestTiming.current();
+        if (timing == null) {
+            super.writeInternal(object, type, outputMessage);
+            return;
+        }
+
+        timing.handlerFinished();
+        long startedAt = System.nanoTime();
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(256);
+        super.writeInternal(object, type, new HttpOutputMessage() {
+            @Override
+            public OutputStream getBody() {
+                return buffer;
+            }
+
+            @Override
+            public HttpHeaders getHeaders() {
+                return outputMessage.getHeaders();
+            }
+        });
+        timing.record(RequestTiming.Phase.SERIALIZATION, System.nanoTime() - startedAt);
+
+        if (header) {
+            outputMessage.getHeaders().set(ServerTimingFilter.HEADER_NAME, timing.toHeaderValue());
+        }
+        buffer.writeTo(outputMessage.getBody());
+    }
+}
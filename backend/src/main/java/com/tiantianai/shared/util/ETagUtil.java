@@ -0,0 +1,29 @@
+package com.tiantianai.shared.util;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+
+/**
+ * ETag 工具类
+ * 配合 {@code WebRequest.checkNotModified} 在调用服务层之前返回 304
+ */
+public final class ETagUtil {
+
+    /**
+     * 允许客户端私有缓存，但每次使用前必须携带 If-None-Match 重新验证
+     */
+    private static final CacheControl REVALIDATE = CacheControl.noCache().cachePrivate();
+
+    private ETagUtil() {
+    }
+
+    /**
+     * 构建携带 ETag 与缓存头的 200 响应
+     */
+    public static <T> ResponseEntity<T> ok(String eTag, T body) {
+        return ResponseEntity.ok()
+                .cacheControl(REVALIDATE)
+                .eTag(eTag)
+                .body(body);
+    }
+}
@@ -1,10 +1,13 @@
 package com.tiantianai.shared.util;
 
 import com.tiantianai.shared.config.JwtProperties;
+import com.tiantianai.shared.security.JwtPrincipal;
+import com.tiantianai.shared.security.RoleResolver;
+import com.tiantianai.shared.security.RoleSet;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
@@ -17,17 +20,28 @@ import java.util.*;
  */
 @Slf4j
 @Component
-@RequiredArgsConstructor
 public class JwtUtil {
 
     private final JwtProperties jwtProperties;
+    private final RoleResolver roleResolver;
 
     /**
-     * 生成签名密钥
+     * 签名密钥，启动时生成一次
      */
-    private SecretKey getSigningKey() {
-        byte[] keyBytes = jwtProperties.getSecret().getBytes(StandardCharsets.UTF_8);
-        return Keys.hmacShaKeyFor(keyBytes);
+    private final SecretKey signingKey;
+
+    /**
+     * 线程安全的解析器，复用以避免每次验签重新构建
+     */
+    private final JwtParser jwtParser;
+
+    public JwtUtil(JwtProperties jwtProperties, RoleResolver roleResolver) {
+        this.jwtProperties = jwtProperties;
+        this.roleResolver = roleResolver;
+        this.signingKey = Keys.hmacShaKeyFor(jwtProperties.getSecret().getBytes(StandardCharsets.UTF_8));
+        this.jwtParser = Jwts.parser()
+                .verifyWith(signingKey)
+                .build();
     }
 
     /**
@@ -35,27 +49,43 @@ public class JwtUtil {
      *
      * @param userId   用户 ID
      * @param username 用户名
-     * @param roles    用户角色
+     * @param roleMask 用户角色位掩码
      * @return JWT Token
      */
-    public String generateToken(Long userId, String username, Set<String> roles) {
+    public String generateToken(Long userId, String username, long roleMask) {
         Map<String, Object> claims = new HashMap<>();
         claims.put("userId", userId);
         claims.put("username", username);
-        claims.put("roles", roles);
+        claims.put("rm", roleMask);
 
         Date now = new Date();
         Date expiryDate = new Date(now.getTime() + jwtProperties.getExpiration());
 
         return Jwts.builder()
                 .claims(claims)
+                .id(UUID.randomUUID().toString())
                 .subject(username)
                 .issuedAt(now)
                 .expiration(expiryDate)
-                .signWith(getSigningKey())
+                .signWith(signingKey)
                 .compact();
     }
 
+    /**
+     * 验证 Token 并一次性解析出主体信息
+     * 验签失败或已过期时抛出 {@link io.jsonwebtoken.JwtException}
+     */
+    public JwtPrincipal parseToken(String token) {
+        Claims claims = getClaimsFromToken(token);
+        return new JwtPrincipal(
+                claims.getId(),
+                claims.get("userId", Long.class),
+                claims.getSubject(),
+                getRoles(claims),
+                claims.getExpiration().toInstant()
+        );
+    }
+
     /**
      * 从 Token 中获取用户名
      */
@@ -75,25 +105,31 @@ public class JwtUtil {
     /**
      * 从 Token 中获取用户角色
      */
-    @SuppressWarnings("unchecked")
     public Set<String> getRolesFromToken(String token) {
-        Claims claims = getClaimsFromToken(token);
+        return getRoles(getClaimsFromToken(token));
+    }
+
+    /**
+     * 角色优先取掩码声明 rm，兼容升级前以字符串数组签发的 roles 声明
+     */
+    @SuppressWarnings("unchecked")
+    private RoleSet getRoles(Claims claims) {
+        Object mask = claims.get("rm");
+        if (mask instanceof Number number) {
+            return roleResolver.rolesOf(number.longValue());
+        }
         Object rolesObj = claims.get("roles");
-        if (rolesObj instanceof List) {
-            return new HashSet<>((List<String>) rolesObj);
+        if (rolesObj instanceof Collection) {
+            return roleResolver.rolesOf(roleResolver.maskOfExisting((Collection<String>) rolesObj));
         }
-        return (Set<String>) rolesObj;
+        return roleResolver.rolesOf(0L);
     }
 
     /**
      * 从 Token 中获取声明信息
      */
     private Claims getClaimsFromToken(String token) {
-        return Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+        return jwtParser.parseSignedClaims(token).getPayload();
     }
 
     /**
@@ -101,10 +137,7 @@ public class JwtUtil {
      */
     public boolean validateToken(String token) {
         try {
-            Jwts.parser()
-                    .verifyWith(getSigningKey())
-                    .build()
-                    .parseSignedClaims(token);
+            jwtParser.parseSignedClaims(token);
             return true;
         } catch (Exception e) {
             log.error("JWT 验证失败: {}", e.getMessage());
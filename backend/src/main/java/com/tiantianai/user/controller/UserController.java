@@ -1,14 +1,18 @@
 package com.tiantianai.user.controller;
 
 import com.tiantianai.shared.common.Result;
+import com.tiantianai.shared.security.JwtPrincipal;
+import com.tiantianai.shared.util.ETagUtil;
 import com.tiantianai.user.dto.UserInfoResponse;
 import com.tiantianai.user.service.UserService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.security.core.Authentication;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 /**
  * 用户控制器
@@ -23,12 +27,16 @@ public class UserController {
 
     /**
      * 获取当前用户信息
+     * 支持 If-None-Match，数据未变更时直接返回 304
      */
     @GetMapping("/info")
-    public Result<UserInfoResponse> getUserInfo(Authentication authentication) {
-        // 从认证信息中获取用户 ID
-        Long userId = Long.parseLong(authentication.getName());
-        UserInfoResponse userInfo = userService.getUserInfo(userId);
-        return Result.success(userInfo);
+    public ResponseEntity<Result<UserInfoResponse>> getUserInfo(@AuthenticationPrincipal JwtPrincipal principal,
+                                                                WebRequest webRequest) {
+        String eTag = userService.getETag(principal.getUserId());
+        if (webRequest.checkNotModified(eTag)) {
+            return null;
+        }
+        UserInfoResponse userInfo = userService.getUserInfo(principal.getUserId());
+        return ETagUtil.ok(eTag, Result.success(userInfo));
     }
 }
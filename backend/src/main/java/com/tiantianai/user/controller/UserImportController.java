@@ -0,0 +1,58 @@
+package com.tiantianai.user.controller;
+
+import com.tiantianai.shared.common.Result;
+import com.tiantianai.user.dto.UserImportResponse;
+import com.tiantianai.user.service.UserImportService;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+
+/**
+ * 用户批量导入控制器
+ */
+@RestController
+@RequestMapping("/user/import")
+@RequiredArgsConstructor
+@PreAuthorize("hasRole('admin')")
+public class UserImportController {
+
+    private final UserImportService userImportService;
+
+    /**
+     * 上传 CSV 并在后台导入，立即返回任务状态
+     * 请求体为 CSV 原文，不经过 multipart，不受上传大小限制；
+     * 失败的任务以相同 jobId 重新上传（可先修正出错的行）即从断点继续
+     */
+    @PostMapping(consumes = {"text/csv", MediaType.TEXT_PLAIN_VALUE, MediaType.APPLICATION_OCTET_STREAM_VALUE})
+    public Result<UserImportResponse> submit(@RequestParam String jobId, HttpServletRequest request) throws IOException {
+        return Result.success(userImportService.submit(jobId, request.getInputStream()));
+    }
+
+    /**
+     * 以服务端暂存的 CSV 继续执行失败或中断的任务
+     */
+    @PostMapping("/{jobId}/resume")
+    public Result<UserImportResponse> resume(@PathVariable String jobId) {
+        return Result.success(userImportService.resume(jobId));
+    }
+
+    /**
+     * 取消未在执行的任务并删除服务端暂存的 CSV
+     */
+    @DeleteMapping("/{jobId}")
+    public Result<UserImportResponse> cancel(@PathVariable String jobId) {
+        return Result.success(userImportService.cancel(jobId));
+    }
+
+    /**
+     * 查询任务进度
+     */
+    @GetMapping("/{jobId}")
+    public Result<UserImportResponse> status(@PathVariable String jobId) {
+        return Result.success(userImportService.getStatus(jobId));
+    }
+}
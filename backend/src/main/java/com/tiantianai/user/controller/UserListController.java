@@ -0,0 +1,58 @@
+package com.tiantianai.user.controller;
+
+import com.tiantianai.shared.common.Result;
+import com.tiantianai.user.dto.UserPageResponse;
+import com.tiantianai.user.service.UserListService;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+
+/**
+ * 用户管理列表控制器
+ */
+@RestController
+@RequestMapping("/user")
+@RequiredArgsConstructor
+@PreAuthorize("hasRole('admin')")
+public class UserListController {
+
+    private final UserListService userListService;
+
+    /**
+     * 分页查询用户
+     * sort 为 id（ID 升序，默认）或 createdAt（创建时间倒序）；
+     * 翻页时把上一页返回的 nextCursor 原样作为 cursor 传回，sort 与筛选条件保持不变
+     */
+    @GetMapping("/list")
+    public Result<UserPageResponse> list(@RequestParam(required = false) Boolean enabled,
+                                         @RequestParam(required = false) String role,
+                                         @RequestParam(required = false) String sort,
+                                         @RequestParam(required = false) String cursor,
+                                         @RequestParam(defaultValue = "" + UserListService.DEFAULT_PAGE_SIZE) int size) {
+        return Result.success(userListService.list(enabled, role, UserListService.Sort.of(sort), cursor, size));
+    }
+
+    /**
+     * 导出用户，format 为 csv（默认）或 ndjson
+     * 直接写入响应流而不经过异步请求，导出大表时不受异步超时限制
+     */
+    @GetMapping("/export")
+    public void export(@RequestParam(required = false) Boolean enabled,
+                       @RequestParam(required = false) String role,
+                       @RequestParam(defaultValue = "csv") String format,
+                       HttpServletResponse response) throws IOException {
+        UserListService.ExportFormat exportFormat = UserListService.ExportFormat.of(format);
+        String extension = exportFormat == UserListService.ExportFormat.CSV ? "csv" : "ndjson";
+        response.setContentType(exportFormat == UserListService.ExportFormat.CSV
+                ? "text/csv;charset=UTF-8" : "application/x-ndjson");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"users." + extension + "\"");
+        userListService.export(enabled, role, exportFormat, response.getOutputStream());
+    }
+}
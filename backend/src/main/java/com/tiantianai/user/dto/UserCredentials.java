@@ -0,0 +1,13 @@
+package com.tiantianai.user.dto;
+
+/**
+ * 登录校验所需的用户字段投影
+ *
+ * @param id       用户 ID
+ * @param username 用户名
+ * @param password 密码哈希
+ * @param enabled  账号是否启用
+ * @param roleMask 角色位掩码
+ */
+public record UserCredentials(Long id, String username, String password, Boolean enabled, Long roleMask) {
+}
@@ -0,0 +1,53 @@
+package com.tiantianai.user.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 用户导入任务状态响应 DTO
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserImportResponse {
+
+    /**
+     * 任务 ID
+     */
+    private String jobId;
+
+    /**
+     * 任务状态：QUEUED、RUNNING、COMPLETED、FAILED
+     */
+    private String status;
+
+    /**
+     * 已提交的数据行数
+     */
+    private long processedRows;
+
+    /**
+     * 新增的用户数
+     */
+    private long importedCount;
+
+    /**
+     * 用户名已存在而跳过的行数
+     */
+    private long skippedCount;
+
+    /**
+     * 失败原因
+     */
+    private String errorMessage;
+
+    /**
+     * 最近一次进度更新时间
+     */
+    private LocalDateTime updatedAt;
+}
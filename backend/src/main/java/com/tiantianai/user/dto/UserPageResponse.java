@@ -0,0 +1,28 @@
+package com.tiantianai.user.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 用户列表分页响应 DTO
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserPageResponse {
+
+    /**
+     * 本页用户
+     */
+    private List<UserSummaryResponse> items;
+
+    /**
+     * 下一页游标，原样传回 cursor 参数获取下一页；没有更多数据时为 null
+     */
+    private String nextCursor;
+}
@@ -0,0 +1,14 @@
+package com.tiantianai.user.dto;
+
+/**
+ * 用户资料所需的字段投影
+ *
+ * @param id       用户 ID
+ * @param username 用户名
+ * @param realName 真实姓名
+ * @param homePath 首页路径
+ * @param roleMask 角色位掩码
+ * @param version  数据版本
+ */
+public record UserProfileView(Long id, String username, String realName, String homePath, Long roleMask, Long version) {
+}
@@ -0,0 +1,54 @@
+package com.tiantianai.user.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.Set;
+
+/**
+ * 用户列表项响应 DTO
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserSummaryResponse {
+
+    /**
+     * 用户 ID
+     */
+    private Long id;
+
+    /**
+     * 用户名
+     */
+    private String username;
+
+    /**
+     * 真实姓名
+     */
+    private String realName;
+
+    /**
+     * 首页路径
+     */
+    private String homePath;
+
+    /**
+     * 用户角色
+     */
+    private Set<String> roles;
+
+    /**
+     * 账号是否启用
+     */
+    private Boolean enabled;
+
+    /**
+     * 创建时间
+     */
+    private LocalDateTime createdAt;
+}
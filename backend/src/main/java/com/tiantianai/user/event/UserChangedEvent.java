@@ -0,0 +1,9 @@
+package com.tiantianai.user.event;
+
+/**
+ * 用户数据变更事件
+ *
+ * @param userId 用户 ID
+ */
+public record UserChangedEvent(Long userId) {
+}
@@ -0,0 +1,46 @@
+package com.tiantianai.user.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * 角色字典实体类
+ * 每个角色占用用户角色掩码中的一位，位一经分配不再复用
+ */
+@Entity
+@Table(name = "roles")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class Role {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /**
+     * 角色在掩码中的位序号（0-62）
+     */
+    @Column(nullable = false, unique = true)
+    private Integer bit;
+
+    /**
+     * 角色编码（权限码）
+     */
+    @Column(nullable = false, unique = true, length = 50)
+    private String code;
+
+    /**
+     * 创建时间
+     */
+    @CreationTimestamp
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+}
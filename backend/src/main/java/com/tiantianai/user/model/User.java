@@ -1,5 +1,6 @@
 package com.tiantianai.user.model;
 
+import com.tiantianai.user.event.UserEntityListener;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -9,14 +10,14 @@ import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
 import java.time.LocalDateTime;
-import java.util.HashSet;
-import java.util.Set;
 
 /**
  * 用户实体类
  */
 @Entity
-@Table(name = "users")
+@Table(name = "users",
+        indexes = @Index(name = "idx_users_created_at_id", columnList = "createdAt, id"))
+@EntityListeners(UserEntityListener.class)
 @Data
 @Builder
 @NoArgsConstructor
@@ -52,13 +53,11 @@ public class User {
     private String homePath;
 
     /**
-     * 用户角色（权限码集合）
+     * 用户角色位掩码，位与角色的对应关系见 roles 表
      */
-    @ElementCollection(fetch = FetchType.EAGER)
-    @CollectionTable(name = "user_roles", joinColumns = @JoinColumn(name = "user_id"))
-    @Column(name = "role")
+    @Column(name = "role_mask", nullable = false, columnDefinition = "bigint default 0 not null")
     @Builder.Default
-    private Set<String> roles = new HashSet<>();
+    private Long roleMask = 0L;
 
     /**
      * 账号是否启用
@@ -67,6 +66,13 @@ public class User {
     @Builder.Default
     private Boolean enabled = true;
 
+    /**
+     * 数据版本，用户（含角色掩码）每次更新都会递增，用作 ETag
+     */
+    @Version
+    @Column(nullable = false, columnDefinition = "bigint default 0 not null")
+    private Long version;
+
     /**
      * 创建时间
      */
@@ -0,0 +1,80 @@
+package com.tiantianai.user.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 用户导入任务
+ * 记录已提交的 CSV 行数作为断点，与对应批次的用户在同一事务中更新，
+ * 任务中断后从断点继续，已提交的行不会重复导入
+ */
+@Entity
+@Table(name = "user_import_jobs")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserImportJob {
+
+    /**
+     * 任务 ID
+     */
+    @Id
+    @Column(length = 64)
+    private String id;
+
+    /**
+     * 任务状态
+     */
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private Status status;
+
+    /**
+     * 已提交的数据行数（不含表头）
+     */
+    @Column(nullable = false)
+    private long processedRows;
+
+    /**
+     * 新增的用户数
+     */
+    @Column(nullable = false)
+    private long importedCount;
+
+    /**
+     * 用户名已存在而跳过的行数
+     */
+    @Column(nullable = false)
+    private long skippedCount;
+
+    /**
+     * 失败原因
+     */
+    @Column(length = 500)
+    private String errorMessage;
+
+    /**
+     * 创建时间
+     */
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    /**
+     * 最近一次进度更新时间
+     */
+    @Column(nullable = false)
+    private LocalDateTime updatedAt;
+
+    /**
+     * 任务状态
+     */
+    public enum Status {
+        QUEUED, RUNNING, COMPLETED, FAILED
+    }
+}
@@ -0,0 +1,12 @@
+package com.tiantianai.user.repository;
+
+import com.tiantianai.user.model.Role;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+/**
+ * 角色字典数据访问接口
+ */
+@Repository
+public interface RoleRepository extends JpaRepository<Role, Long> {
+}
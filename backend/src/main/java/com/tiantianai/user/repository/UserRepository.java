@@ -1,8 +1,17 @@
 package com.tiantianai.user.repository;
 
+import com.tiantianai.user.dto.UserCredentials;
+import com.tiantianai.user.dto.UserProfileView;
 import com.tiantianai.user.model.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Optional;
 
@@ -17,8 +26,47 @@ public interface UserRepository extends JpaRepository<User, Long> {
      */
     Optional<User> findByUsername(String username);
 
+    /**
+     * 按用户名查询登录校验字段
+     * 构造器表达式直接返回记录，不创建托管实体，也不在持久化上下文中保留快照；
+     * 只读事务在启用读写分离时由副本承担
+     */
+    @Transactional(readOnly = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    @Query("select new com.tiantianai.user.dto.UserCredentials(u.id, u.username, u.password, u.enabled, u.roleMask) "
+            + "from User u where u.username = :username")
+    Optional<UserCredentials> findCredentialsByUsername(@Param("username") String username);
+
+    /**
+     * 按 ID 查询登录校验字段，用于刷新令牌
+     */
+    @Transactional(readOnly = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    @Query("select new com.tiantianai.user.dto.UserCredentials(u.id, u.username, u.password, u.enabled, u.roleMask) "
+            + "from User u where u.id = :id")
+    Optional<UserCredentials> findCredentialsById(@Param("id") Long id);
+
+    /**
+     * 按 ID 查询用户资料字段
+     */
+    @Transactional(readOnly = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    @Query("select new com.tiantianai.user.dto.UserProfileView(u.id, u.username, u.realName, u.homePath, u.roleMask, u.version) "
+            + "from User u where u.id = :id")
+    Optional<UserProfileView> findProfileById(@Param("id") Long id);
+
     /**
      * 检查用户名是否存在
      */
     boolean existsByUsername(String username);
+
+    /**
+     * 仅当密码未被修改时更新密码哈希
+     */
+    @Transactional
+    @Modifying
+    @Query("update User u set u.password = :newPassword where u.id = :id and u.password = :oldPassword")
+    int updatePassword(@Param("id") Long id,
+                       @Param("oldPassword") String oldPassword,
+                       @Param("newPassword") String newPassword);
 }
@@ -0,0 +1,160 @@
+package com.tiantianai.user.service;
+
+import com.tiantianai.shared.security.RoleResolver;
+import com.tiantianai.shared.security.RoleSet;
+import com.tiantianai.user.model.Role;
+import com.tiantianai.user.repository.RoleRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 角色字典
+ * 负责角色编码与掩码位之间的转换，并按掩码共享 {@link RoleSet} 实例
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RoleRegistry implements RoleResolver {
+
+    /**
+     * 可用的最大位数，保留符号位
+     */
+    private static final int MAX_ROLES = 63;
+
+    /**
+     * 按掩码缓存的角色集合上限，不同角色组合通常很少
+     */
+    private static final int MAX_CACHED_MASKS = 4096;
+
+    private final RoleRepository roleRepository;
+
+    private final Map<Long, RoleSet> roleSets = new ConcurrentHashMap<>();
+
+    /**
+     * 注册角色时持锁写库，使用 ReentrantLock 而非 synchronized，虚拟线程等待数据库时不钉住载体线程
+     */
+    private final ReentrantLock registerLock = new ReentrantLock();
+
+    private volatile Dictionary dictionary = new Dictionary(new String[MAX_ROLES], Collections.emptyMap());
+
+    @PostConstruct
+    public void load() {
+        reload();
+        log.info("已加载 {} 个角色", dictionary.bitByCode().size());
+    }
+
+    /**
+     * 由掩码获取角色集合
+     */
+    @Override
+    public RoleSet rolesOf(long mask) {
+        RoleSet roleSet = roleSets.get(mask);
+        if (roleSet != null) {
+            return roleSet;
+        }
+        Dictionary current = dictionary;
+        roleSet = new RoleSet(mask, current.codesByBit(), current.bitByCode());
+        if (roleSets.size() < MAX_CACHED_MASKS) {
+            roleSets.putIfAbsent(mask, roleSet);
+        }
+        return roleSet;
+    }
+
+    /**
+     * 由角色编码计算掩码，未登记的角色自动分配新位
+     */
+    public long maskOf(Collection<String> codes) {
+        long mask = 0;
+        for (String code : codes) {
+            mask |= 1L << bitOf(code, true);
+        }
+        return mask;
+    }
+
+    /**
+     * 由角色编码计算掩码，忽略未登记的角色
+     */
+    @Override
+    public long maskOfExisting(Collection<String> codes) {
+        long mask = 0;
+        for (String code : codes) {
+            int bit = bitOf(code, false);
+            if (bit >= 0) {
+                mask |= 1L << bit;
+            }
+        }
+        return mask;
+    }
+
+    /**
+     * 获取角色所在的位，不存在时返回 -1
+     */
+    public int bitOf(String code) {
+        return bitOf(code, false);
+    }
+
+    private int bitOf(String code, boolean register) {
+        Integer bit = dictionary.bitByCode().get(code);
+        if (bit != null) {
+            return bit;
+        }
+        return register ? register(code) : -1;
+    }
+
+    /**
+     * 登记新角色，与其他实例并发登记冲突时重新加载后重试
+     */
+    private int register(String code) {
+        registerLock.lock();
+        try {
+            for (int attempt = 0; attempt < 3; attempt++) {
+                Integer bit = dictionary.bitByCode().get(code);
+                if (bit != null) {
+                    return bit;
+                }
+                int next = dictionary.bitByCode().values().stream()
+                        .mapToInt(Integer::intValue)
+                        .max()
+                        .orElse(-1) + 1;
+                if (next >= MAX_ROLES) {
+                    throw new IllegalStateException("角色数量已达上限 " + MAX_ROLES);
+                }
+                try {
+                    roleRepository.saveAndFlush(Role.builder().bit(next).code(code).build());
+                    log.info("登记新角色 {}，位 {}", code, next);
+                } catch (DataIntegrityViolationException e) {
+                    log.debug("角色 {} 登记冲突，重新加载字典", code);
+                }
+                reload();
+            }
+            throw new IllegalStateException("角色登记失败: " + code);
+        } finally {
+            registerLock.unlock();
+        }
+    }
+
+    private void reload() {
+        String[] codesByBit = new String[MAX_ROLES];
+        Map<String, Integer> bitByCode = new HashMap<>();
+        for (Role role : roleRepository.findAll()) {
+            codesByBit[role.getBit()] = role.getCode();
+            bitByCode.put(role.getCode(), role.getBit());
+        }
+        dictionary = new Dictionary(codesByBit, Collections.unmodifiableMap(bitByCode));
+        // 位不复用，已缓存的掩码语义不变，只需让新集合看到新字典
+        roleSets.clear();
+    }
+
+    /**
+     * 不可变的字典快照
+     */
+    private record Dictionary(String[] codesByBit, Map<String, Integer> bitByCode) {
+    }
+}
@@ -0,0 +1,194 @@
+package com.tiantianai.user.service;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.*;
+
+/**
+ * 用户 CSV 读取器
+ * 按 RFC 4180 逐条读取记录（支持引号、转义引号与字段内换行），不把整个文件读入内存。
+ * 第一行为表头，列名不区分大小写：username、password 必填，
+ * realName、homePath、roles（多个角色以 | 分隔）、enabled（默认 true）可选
+ */
+final class UserCsvReader implements Closeable {
+
+    private static final int MAX_USERNAME_LENGTH = 50;
+    private static final int MAX_REAL_NAME_LENGTH = 50;
+    private static final int MAX_HOME_PATH_LENGTH = 200;
+
+    private final BufferedReader reader;
+
+    private final int usernameColumn;
+    private final int passwordColumn;
+    private final int realNameColumn;
+    private final int homePathColumn;
+    private final int rolesColumn;
+    private final int enabledColumn;
+
+    /**
+     * 已读取的数据行数（不含表头与空行）
+     */
+    private long rowNumber;
+
+    UserCsvReader(Reader reader) throws IOException {
+        this.reader = reader instanceof BufferedReader buffered ? buffered : new BufferedReader(reader);
+        List<String> header = readRecord();
+        if (header == null) {
+            throw new IllegalArgumentException("CSV 文件为空");
+        }
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            String name = header.get(i);
+            // Excel 导出的 UTF-8 文件带 BOM
+            if (i == 0 && name.startsWith("\uFEFF")) {
+                name = name.substring(1);
+            }
+            columns.put(name.trim().replace("_", "").toLowerCase(Locale.ROOT), i);
+        }
+        this.usernameColumn = columns.getOrDefault("username", -1);
+        this.passwordColumn = columns.getOrDefault("password", -1);
+        if (usernameColumn < 0 || passwordColumn < 0) {
+            throw new IllegalArgumentException("CSV 表头缺少 username 或 password 列");
+        }
+        this.realNameColumn = columns.getOrDefault("realname", -1);
+        this.homePathColumn = columns.getOrDefault("homepath", -1);
+        this.rolesColumn = columns.getOrDefault("roles", -1);
+        this.enabledColumn = columns.getOrDefault("enabled", -1);
+    }
+
+    /**
+     * 读取最多 limit 行，文件结束时返回空列表
+     *
+     * @throws IllegalArgumentException 行内容不合法，消息中包含行号
+     */
+    List<Row> next(int limit) throws IOException {
+        List<Row> rows = new ArrayList<>(limit);
+        List<String> fields;
+        while (rows.size() < limit && (fields = nextRecord()) != null) {
+            rows.add(toRow(fields));
+        }
+        return rows;
+    }
+
+    /**
+     * 跳过已导入的行，不做校验
+     */
+    void skip(long rows) throws IOException {
+        while (rowNumber < rows && nextRecord() != null) {
+            // 只计数
+        }
+    }
+
+    private List<String> nextRecord() throws IOException {
+        List<String> fields;
+        do {
+            fields = readRecord();
+        } while (fields != null && fields.size() == 1 && fields.get(0).isBlank());
+        if (fields != null) {
+            rowNumber++;
+        }
+        return fields;
+    }
+
+    private List<String> readRecord() throws IOException {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        boolean empty = true;
+        int c;
+        while ((c = reader.read()) != -1) {
+            empty = false;
+            if (quoted) {
+                if (c != '"') {
+                    field.append((char) c);
+                    continue;
+                }
+                reader.mark(1);
+                if (reader.read() == '"') {
+                    field.append('"');
+                } else {
+                    quoted = false;
+                    reader.reset();
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\n') {
+                break;
+            } else if (c != '\r') {
+                field.append((char) c);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("第 " + (rowNumber + 1) + " 行: 引号未闭合");
+        }
+        if (empty) {
+            return null;
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    private Row toRow(List<String> fields) {
+        String username = field(fields, usernameColumn).trim();
+        String password = field(fields, passwordColumn);
+        if (username.isEmpty() || password.isEmpty()) {
+            throw invalid("用户名和密码不能为空");
+        }
+        if (username.length() > MAX_USERNAME_LENGTH) {
+            throw invalid("用户名超过 " + MAX_USERNAME_LENGTH + " 个字符");
+        }
+        String realName = optional(fields, realNameColumn, MAX_REAL_NAME_LENGTH, "姓名");
+        String homePath = optional(fields, homePathColumn, MAX_HOME_PATH_LENGTH, "首页路径");
+
+        Set<String> roles = new LinkedHashSet<>();
+        for (String role : field(fields, rolesColumn).split("\\|")) {
+            if (!role.isBlank()) {
+                roles.add(role.trim());
+            }
+        }
+        return new Row(rowNumber, username, password, realName, homePath, roles, parseEnabled(field(fields, enabledColumn)));
+    }
+
+    private boolean parseEnabled(String value) {
+        return switch (value.trim().toLowerCase(Locale.ROOT)) {
+            case "", "true", "1", "yes" -> true;
+            case "false", "0", "no" -> false;
+            default -> throw invalid("enabled 只能是 true 或 false");
+        };
+    }
+
+    private String optional(List<String> fields, int column, int maxLength, String name) {
+        String value = field(fields, column).trim();
+        if (value.length() > maxLength) {
+            throw invalid(name + "超过 " + maxLength + " 个字符");
+        }
+        return value.isEmpty() ? null : value;
+    }
+
+    private static String field(List<String> fields, int column) {
+        return column >= 0 && column < fields.size() ? fields.get(column) : "";
+    }
+
+    private IllegalArgumentException invalid(String message) {
+        return new IllegalArgumentException("第 " + rowNumber + " 行: " + message);
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    /**
+     * 一行用户数据
+     *
+     * @param number 数据行号，从 1 开始
+     */
+    record Row(long number, String username, String password, String realName, String homePath,
+               Set<String> roles, boolean enabled) {
+    }
+}
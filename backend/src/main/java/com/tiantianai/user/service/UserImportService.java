@@ -0,0 +1,515 @@
+package com.tiantianai.user.service;
+
+import com.tiantianai.shared.config.UserImportProperties;
+import com.tiantianai.shared.exception.ErrorCode;
+import com.tiantianai.user.dto.UserImportResponse;
+import com.tiantianai.user.model.UserImportJob;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.regex.Pattern;
+
+/**
+ * 批量导入用户
+ * 流式读取 CSV，每批先在独立线程池中并行计算密码哈希，再以 JDBC 批量插入，
+ * 用户与任务断点在同一事务中提交。User 实体的 IDENTITY 主键会让 Hibernate 逐条插入，
+ * 这里绕过实体直接批量写入，主键仍由数据库自增生成（MySQL 连接参数 rewriteBatchedStatements
+ * 会把一批合并为多值 INSERT）。
+ * 用户名已存在的行跳过并计数，任务失败或进程中断后以相同任务 ID 重新执行即从断点继续。
+ * 同一任务在多个实例间只能有一个执行：接口提交的任务先以条件更新占用为 QUEUED，
+ * 工作线程真正开始时再以排队时写入的 updated_at 为凭证改为 RUNNING，排队期间被取消或被接管时不再执行；
+ * 执行中每批提交都会刷新 updated_at，超过 stale-after 未刷新的 RUNNING 或 QUEUED 任务视为所在进程已退出，可被重新接管。
+ * 上传暂存的 CSV 含明文密码，任务完成或取消时删除，失败的任务只保留 failed-retention 时长
+ */
+@Slf4j
+@Service
+public class UserImportService implements DisposableBean {
+
+    private static final Pattern JOB_ID_PATTERN = Pattern.compile("[A-Za-z0-9_-]{1,64}");
+
+    private static final int MAX_ERROR_LENGTH = 500;
+
+    private static final String INSERT_USER_SQL = "INSERT INTO users "
+            + "(username, password, real_name, home_path, role_mask, enabled, version, created_at, updated_at) "
+            + "VALUES (?, ?, ?, ?, ?, ?, 0, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final PasswordEncoder passwordEncoder;
+    private final RoleRegistry roleRegistry;
+    private final UserImportProperties properties;
+
+    /**
+     * 接口提交的任务依次在后台执行
+     */
+    private final ExecutorService jobExecutor;
+
+    /**
+     * 本进程中正在执行或排队的任务，跨实例的互斥由任务行的条件更新保证
+     */
+    private final Set<String> activeJobs = ConcurrentHashMap.newKeySet();
+
+    public UserImportService(JdbcTemplate jdbcTemplate,
+                             PlatformTransactionManager transactionManager,
+                             PasswordEncoder passwordEncoder,
+                             RoleRegistry roleRegistry,
+                             UserImportProperties properties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedParameterJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.passwordEncoder = passwordEncoder;
+        this.roleRegistry = roleRegistry;
+        this.properties = properties;
+        this.jobExecutor = Executors.newSingleThreadExecutor(daemonThreadFactory("user-import-"));
+    }
+
+    /**
+     * 在当前线程中导入文件，用于命令行
+     *
+     * @return 导入结束后的任务状态
+     */
+    public UserImportResponse importFile(String jobId, Path file) {
+        acquire(jobId);
+        try {
+            UserImportJob job = findJob(jobId);
+            if (job != null && job.getStatus() == UserImportJob.Status.COMPLETED) {
+                log.info("导入任务 {} 已完成，跳过", jobId);
+                return toResponse(job);
+            }
+            return toResponse(execute(begin(jobId, job, UserImportJob.Status.RUNNING), file));
+        } finally {
+            activeJobs.remove(jobId);
+        }
+    }
+
+    /**
+     * 暂存上传的 CSV 并在后台导入，立即返回任务状态
+     * 已失败的任务重新上传时从断点继续，已完成的任务不再执行
+     */
+    public UserImportResponse submit(String jobId, InputStream csv) throws IOException {
+        acquire(jobId);
+        try {
+            UserImportJob job = findJob(jobId);
+            if (job != null && job.getStatus() == UserImportJob.Status.COMPLETED) {
+                activeJobs.remove(jobId);
+                return toResponse(job);
+            }
+            // 先占用任务再写暂存文件，避免覆盖其他实例正在读取的文件
+            job = begin(jobId, job, UserImportJob.Status.QUEUED);
+            Path file = spoolFile(jobId);
+            try {
+                Files.createDirectories(file.getParent());
+                Files.copy(csv, file, StandardCopyOption.REPLACE_EXISTING);
+            } catch (IOException e) {
+                fail(job, "保存上传文件失败: " + e.getMessage());
+                deleteSpool(jobId);
+                throw e;
+            }
+            return executeAsync(job, file);
+        } catch (IOException | RuntimeException e) {
+            activeJobs.remove(jobId);
+            throw e;
+        }
+    }
+
+    /**
+     * 以暂存的 CSV 在后台继续执行失败或中断的任务
+     */
+    public UserImportResponse resume(String jobId) {
+        acquire(jobId);
+        try {
+            UserImportJob job = findJob(jobId);
+            if (job == null) {
+                throw ErrorCode.USER_IMPORT_NOT_FOUND.exception();
+            }
+            if (job.getStatus() == UserImportJob.Status.COMPLETED) {
+                deleteSpool(jobId);
+                activeJobs.remove(jobId);
+                return toResponse(job);
+            }
+            Path file = spoolFile(jobId);
+            if (!Files.exists(file)) {
+                throw ErrorCode.USER_IMPORT_FILE_MISSING.exception();
+            }
+            return executeAsync(begin(jobId, job, UserImportJob.Status.QUEUED), file);
+        } catch (RuntimeException e) {
+            activeJobs.remove(jobId);
+            throw e;
+        }
+    }
+
+    /**
+     * 取消未在执行的任务并删除暂存文件，已提交的行保留
+     * 正在执行或排队的任务不能取消
+     */
+    public UserImportResponse cancel(String jobId) {
+        acquire(jobId);
+        try {
+            UserImportJob job = findJob(jobId);
+            if (job == null) {
+                throw ErrorCode.USER_IMPORT_NOT_FOUND.exception();
+            }
+            if (job.getStatus() != UserImportJob.Status.COMPLETED) {
+                // 其他实例正在执行时条件更新不会命中
+                job = begin(jobId, job, UserImportJob.Status.RUNNING);
+                fail(job, "已取消");
+            }
+            deleteSpool(jobId);
+            return toResponse(job);
+        } finally {
+            activeJobs.remove(jobId);
+        }
+    }
+
+    /**
+     * 删除超过保留时长的失败任务暂存文件
+     */
+    @Scheduled(fixedDelayString = "PT1H", initialDelayString = "PT1H")
+    public void purgeExpiredSpools() {
+        Path directory = properties.getDirectory();
+        if (!Files.isDirectory(directory)) {
+            return;
+        }
+        long expiresBefore = System.currentTimeMillis() - properties.getFailedRetention().toMillis();
+        int deleted = 0;
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "*.csv")) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                String jobId = name.substring(0, name.length() - ".csv".length());
+                if (!activeJobs.contains(jobId) && Files.getLastModifiedTime(file).toMillis() < expiresBefore) {
+                    Files.deleteIfExists(file);
+                    deleted++;
+                }
+            }
+        } catch (IOException e) {
+            log.warn("清理导入暂存文件失败: {}", e.getMessage());
+        }
+        if (deleted > 0) {
+            log.info("已删除 {} 个过期的导入暂存文件", deleted);
+        }
+    }
+
+    /**
+     * 查询任务进度
+     */
+    public UserImportResponse getStatus(String jobId) {
+        validateJobId(jobId);
+        UserImportJob job = findJob(jobId);
+        if (job == null) {
+            throw ErrorCode.USER_IMPORT_NOT_FOUND.exception();
+        }
+        return toResponse(job);
+    }
+
+    private UserImportResponse executeAsync(UserImportJob job, Path file) {
+        UserImportResponse response = toResponse(job);
+        jobExecutor.execute(() -> {
+            try {
+                if (!start(job)) {
+                    log.warn("导入任务 {} 排队期间已被取消或由其他实例接管，跳过", job.getId());
+                    return;
+                }
+                execute(job, file);
+                Files.deleteIfExists(file);
+            } catch (Exception e) {
+                log.debug("导入任务 {} 未完成，暂存文件保留 {} 以便续传", job.getId(), properties.getFailedRetention());
+            } finally {
+                activeJobs.remove(job.getId());
+            }
+        });
+        return response;
+    }
+
+    /**
+     * 从断点开始逐批导入，失败时记录原因后抛出
+     */
+    private UserImportJob execute(UserImportJob job, Path file) {
+        String jobId = job.getId();
+        long startRows = job.getProcessedRows();
+        long startedAt = System.nanoTime();
+        ExecutorService hashPool = Executors.newFixedThreadPool(
+                properties.getHashThreads(), daemonThreadFactory("user-import-hash-"));
+        try (UserCsvReader reader = new UserCsvReader(Files.newBufferedReader(file, StandardCharsets.UTF_8))) {
+            reader.skip(job.getProcessedRows());
+            List<UserCsvReader.Row> rows;
+            while (!(rows = reader.next(properties.getChunkSize())).isEmpty()) {
+                importChunk(job, rows, hashPool);
+                long elapsedMillis = Math.max(1, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt));
+                log.info("导入任务 {}：已处理 {} 行，新增 {}，跳过 {}，{} 行/秒", jobId, job.getProcessedRows(),
+                        job.getImportedCount(), job.getSkippedCount(),
+                        (job.getProcessedRows() - startRows) * 1000 / elapsedMillis);
+            }
+        } catch (IOException e) {
+            fail(job, "读取文件失败: " + e.getMessage());
+            throw new UncheckedIOException(e);
+        } catch (RuntimeException e) {
+            fail(job, e.getMessage());
+            throw e;
+        } finally {
+            hashPool.shutdownNow();
+        }
+
+        job.setStatus(UserImportJob.Status.COMPLETED);
+        job.setUpdatedAt(LocalDateTime.now());
+        jdbcTemplate.update("UPDATE user_import_jobs SET status = ?, updated_at = ? WHERE id = ?",
+                job.getStatus().name(), Timestamp.valueOf(job.getUpdatedAt()), jobId);
+        log.info("导入任务 {} 完成：共 {} 行，新增 {}，跳过 {}", jobId, job.getProcessedRows(),
+                job.getImportedCount(), job.getSkippedCount());
+        return job;
+    }
+
+    /**
+     * 导入一批：跳过已存在的用户名，并行计算哈希，批量插入并推进断点
+     */
+    private void importChunk(UserImportJob job, List<UserCsvReader.Row> rows, ExecutorService hashPool) {
+        // MySQL 默认排序规则下用户名唯一约束不区分大小写，按小写比较
+        Set<String> seen = new HashSet<>(existingUsernames(rows));
+        List<UserCsvReader.Row> newRows = new ArrayList<>(rows.size());
+        for (UserCsvReader.Row row : rows) {
+            if (seen.add(row.username().toLowerCase(Locale.ROOT))) {
+                newRows.add(row);
+            }
+        }
+
+        long[] roleMasks = new long[newRows.size()];
+        for (int i = 0; i < newRows.size(); i++) {
+            roleMasks[i] = roleMask(newRows.get(i));
+        }
+        List<String> hashes = hashPasswords(newRows, hashPool);
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> args = new ArrayList<>(newRows.size());
+        for (int i = 0; i < newRows.size(); i++) {
+            UserCsvReader.Row row = newRows.get(i);
+            args.add(new Object[]{row.username(), hashes.get(i), row.realName(), row.homePath(),
+                    roleMasks[i], row.enabled(), now, now});
+        }
+
+        long processed = job.getProcessedRows() + rows.size();
+        long imported = job.getImportedCount() + newRows.size();
+        long skipped = job.getSkippedCount() + rows.size() - newRows.size();
+        transactionTemplate.executeWithoutResult(status -> {
+            if (!args.isEmpty()) {
+                jdbcTemplate.batchUpdate(INSERT_USER_SQL, args);
+            }
+            jdbcTemplate.update("UPDATE user_import_jobs SET processed_rows = ?, imported_count = ?, "
+                    + "skipped_count = ?, updated_at = ? WHERE id = ?", processed, imported, skipped, now, job.getId());
+        });
+        job.setProcessedRows(processed);
+        job.setImportedCount(imported);
+        job.setSkippedCount(skipped);
+        job.setUpdatedAt(now.toLocalDateTime());
+    }
+
+    /**
+     * 只接受已登记的角色，导入不会登记新角色
+     */
+    private long roleMask(UserCsvReader.Row row) {
+        for (String role : row.roles()) {
+            if (roleRegistry.bitOf(role) < 0) {
+                throw new IllegalArgumentException("第 " + row.number() + " 行: 未知角色 " + role);
+            }
+        }
+        return roleRegistry.maskOfExisting(row.roles());
+    }
+
+    private Set<String> existingUsernames(List<UserCsvReader.Row> rows) {
+        List<String> usernames = rows.stream().map(UserCsvReader.Row::username).toList();
+        Set<String> existing = new HashSet<>();
+        namedParameterJdbcTemplate.query("SELECT username FROM users WHERE username IN (:usernames)",
+                Map.of("usernames", usernames),
+                rs -> {
+                    existing.add(rs.getString(1).toLowerCase(Locale.ROOT));
+                });
+        return existing;
+    }
+
+    private List<String> hashPasswords(List<UserCsvReader.Row> rows, ExecutorService hashPool) {
+        List<Callable<String>> tasks = new ArrayList<>(rows.size());
+        for (UserCsvReader.Row row : rows) {
+            tasks.add(() -> passwordEncoder.encode(row.password()));
+        }
+        try {
+            List<String> hashes = new ArrayList<>(rows.size());
+            for (Future<String> future : hashPool.invokeAll(tasks)) {
+                hashes.add(future.get());
+            }
+            return hashes;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("导入已中断");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("密码哈希失败", e.getCause());
+        }
+    }
+
+    /**
+     * 新建任务，或将已有任务标记为排队或执行中
+     * 以插入或条件更新占用任务行，任务已由其他实例排队或执行（且未超时）时抛出 USER_IMPORT_RUNNING
+     */
+    private UserImportJob begin(String jobId, UserImportJob job, UserImportJob.Status status) {
+        // 截断到毫秒，排队时写入的时间可原样作为开始执行时的占用凭证
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MILLIS);
+        if (job == null) {
+            job = UserImportJob.builder()
+                    .id(jobId)
+                    .status(status)
+                    .createdAt(now)
+                    .updatedAt(now)
+                    .build();
+            try {
+                jdbcTemplate.update("INSERT INTO user_import_jobs (id, status, processed_rows, imported_count, "
+                                + "skipped_count, created_at, updated_at) VALUES (?, ?, 0, 0, 0, ?, ?)",
+                        jobId, job.getStatus().name(), Timestamp.valueOf(now), Timestamp.valueOf(now));
+            } catch (DuplicateKeyException e) {
+                throw ErrorCode.USER_IMPORT_RUNNING.exception();
+            }
+            return job;
+        }
+        int claimed = jdbcTemplate.update("UPDATE user_import_jobs SET status = ?, error_message = NULL, updated_at = ? "
+                        + "WHERE id = ? AND (status = ? OR (status IN (?, ?) AND updated_at < ?))",
+                status.name(), Timestamp.valueOf(now), jobId,
+                UserImportJob.Status.FAILED.name(), UserImportJob.Status.QUEUED.name(),
+                UserImportJob.Status.RUNNING.name(), Timestamp.valueOf(now.minus(properties.getStaleAfter())));
+        if (claimed == 0) {
+            throw ErrorCode.USER_IMPORT_RUNNING.exception();
+        }
+        if (job.getProcessedRows() > 0) {
+            log.info("导入任务 {} 从第 {} 行之后继续", jobId, job.getProcessedRows());
+        }
+        job.setStatus(status);
+        job.setErrorMessage(null);
+        job.setUpdatedAt(now);
+        return job;
+    }
+
+    /**
+     * 工作线程开始执行时把排队的任务改为 RUNNING
+     * 只有任务仍是本次排队写入的状态与时间时才会命中，排队期间被取消或被其他实例接管时返回 false
+     */
+    private boolean start(UserImportJob job) {
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MILLIS);
+        int started = jdbcTemplate.update("UPDATE user_import_jobs SET status = ?, updated_at = ? "
+                        + "WHERE id = ? AND status = ? AND updated_at = ?",
+                UserImportJob.Status.RUNNING.name(), Timestamp.valueOf(now), job.getId(),
+                UserImportJob.Status.QUEUED.name(), Timestamp.valueOf(job.getUpdatedAt()));
+        if (started == 0) {
+            return false;
+        }
+        job.setStatus(UserImportJob.Status.RUNNING);
+        job.setUpdatedAt(now);
+        return true;
+    }
+
+    private void fail(UserImportJob job, String message) {
+        String errorMessage = message == null || message.length() <= MAX_ERROR_LENGTH
+                ? message : message.substring(0, MAX_ERROR_LENGTH);
+        job.setStatus(UserImportJob.Status.FAILED);
+        job.setErrorMessage(errorMessage);
+        job.setUpdatedAt(LocalDateTime.now());
+        try {
+            jdbcTemplate.update("UPDATE user_import_jobs SET status = ?, error_message = ?, updated_at = ? WHERE id = ?",
+                    job.getStatus().name(), errorMessage, Timestamp.valueOf(job.getUpdatedAt()), job.getId());
+        } catch (RuntimeException e) {
+            log.warn("记录导入任务 {} 失败状态出错: {}", job.getId(), e.getMessage());
+        }
+        log.error("导入任务 {} 失败，已提交 {} 行: {}", job.getId(), job.getProcessedRows(), message);
+    }
+
+    private UserImportJob findJob(String jobId) {
+        List<UserImportJob> jobs = jdbcTemplate.query("SELECT id, status, processed_rows, imported_count, "
+                        + "skipped_count, error_message, created_at, updated_at FROM user_import_jobs WHERE id = ?",
+                (rs, rowNum) -> UserImportJob.builder()
+                        .id(rs.getString("id"))
+                        .status(UserImportJob.Status.valueOf(rs.getString("status")))
+                        .processedRows(rs.getLong("processed_rows"))
+                        .importedCount(rs.getLong("imported_count"))
+                        .skippedCount(rs.getLong("skipped_count"))
+                        .errorMessage(rs.getString("error_message"))
+                        .createdAt(rs.getTimestamp("created_at").toLocalDateTime())
+                        .updatedAt(rs.getTimestamp("updated_at").toLocalDateTime())
+                        .build(),
+                jobId);
+        return jobs.isEmpty() ? null : jobs.get(0);
+    }
+
+    /**
+     * 同一任务在本进程中只允许一个执行
+     */
+    private void acquire(String jobId) {
+        validateJobId(jobId);
+        if (!activeJobs.add(jobId)) {
+            throw ErrorCode.USER_IMPORT_RUNNING.exception();
+        }
+    }
+
+    private static void validateJobId(String jobId) {
+        if (jobId == null || !JOB_ID_PATTERN.matcher(jobId).matches()) {
+            throw ErrorCode.USER_IMPORT_JOB_ID_INVALID.exception();
+        }
+    }
+
+    private Path spoolFile(String jobId) {
+        return properties.getDirectory().resolve(jobId + ".csv");
+    }
+
+    private void deleteSpool(String jobId) {
+        try {
+            Files.deleteIfExists(spoolFile(jobId));
+        } catch (IOException e) {
+            log.warn("删除导入任务 {} 的暂存文件失败: {}", jobId, e.getMessage());
+        }
+    }
+
+    private UserImportResponse toResponse(UserImportJob job) {
+        return UserImportResponse.builder()
+                .jobId(job.getId())
+                .status(job.getStatus().name())
+                .processedRows(job.getProcessedRows())
+                .importedCount(job.getImportedCount())
+                .skippedCount(job.getSkippedCount())
+                .errorMessage(job.getErrorMessage())
+                .updatedAt(job.getUpdatedAt())
+                .build();
+    }
+
+    private static ThreadFactory daemonThreadFactory(String prefix) {
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory(prefix);
+        threadFactory.setDaemon(true);
+        return threadFactory;
+    }
+
+    /**
+     * 停止时中断进行中的批次，该批次事务回滚，重新执行时从上一批之后继续
+     */
+    @Override
+    public void destroy() {
+        jobExecutor.shutdownNow();
+    }
+}
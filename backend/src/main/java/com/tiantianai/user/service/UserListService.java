@@ -0,0 +1,359 @@
+package com.tiantianai.user.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.tiantianai.shared.config.UserExportProperties;
+import com.tiantianai.shared.exception.ErrorCode;
+import com.tiantianai.user.dto.UserPageResponse;
+import com.tiantianai.user.dto.UserSummaryResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.DateTimeException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.Semaphore;
+
+/**
+ * 用户列表与导出
+ * 列表按键集分页：以上一页最后一行的排序键作为游标向后定位，翻页代价与页码无关；
+ * 导出以只进游标逐行写出，不在内存中保留结果集；同时进行的导出数有上限，避免长时间占满连接池
+ */
+@Slf4j
+@Service
+public class UserListService {
+
+    public static final int DEFAULT_PAGE_SIZE = 20;
+    public static final int MAX_PAGE_SIZE = 200;
+
+    /**
+     * 导出时每次从数据库取回的行数。
+     * MySQL 驱动只有在 useCursorFetch=true 时才按正数分批读取，而该参数会让所有语句改用服务端预处理，
+     * 因此 MySQL 改用 Integer.MIN_VALUE 逐行流式读取，同样不会缓存整个结果集
+     */
+    private static final int EXPORT_FETCH_SIZE = 1000;
+
+    private static final String COLUMNS = "SELECT id, username, real_name, home_path, role_mask, enabled, created_at FROM users";
+
+    private static final String CSV_HEADER = "id,username,realName,homePath,roles,enabled,createdAt\n";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final JdbcTemplate exportJdbcTemplate;
+
+    /**
+     * 导出语句前缀，MySQL 附带服务端执行时间上限
+     */
+    private final String exportSelect;
+
+    /**
+     * 导出许可，拿不到时不等待，直接返回 USER_EXPORT_BUSY
+     */
+    private final Semaphore exportPermits;
+
+    private final RoleRegistry roleRegistry;
+    private final ObjectWriter ndjsonWriter;
+
+    /**
+     * 角色过滤条件，MySQL 使用位运算符，H2 没有 & 运算符，改用 BITAND
+     */
+    private final String roleCondition;
+
+    private final RowMapper<UserSummaryResponse> rowMapper = (rs, rowNum) -> toSummary(rs);
+
+    public UserListService(JdbcTemplate jdbcTemplate, RoleRegistry roleRegistry, ObjectMapper objectMapper,
+                           UserExportProperties exportProperties) {
+        boolean mysql = "MySQL".equals(databaseProductName(jdbcTemplate.getDataSource()));
+        this.jdbcTemplate = jdbcTemplate;
+        this.exportJdbcTemplate = new JdbcTemplate(jdbcTemplate.getDataSource());
+        exportJdbcTemplate.setFetchSize(mysql ? Integer.MIN_VALUE : EXPORT_FETCH_SIZE);
+        exportJdbcTemplate.setQueryTimeout((int) Math.max(1, exportProperties.getQueryTimeout().toSeconds()));
+        this.exportSelect = mysql
+                ? "SELECT /*+ MAX_EXECUTION_TIME(" + exportProperties.getStatementTimeout().toMillis() + ") */"
+                : "SELECT";
+        this.exportPermits = new Semaphore(exportProperties.getMaxConcurrent());
+        this.roleRegistry = roleRegistry;
+        // 逐行写出时不在每个对象后刷新输出流
+        this.ndjsonWriter = objectMapper.writerFor(UserSummaryResponse.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        this.roleCondition = mysql
+                ? "(role_mask & ?) <> 0"
+                : "BITAND(role_mask, CAST(? AS BIGINT)) <> 0";
+    }
+
+    /**
+     * 分页查询用户
+     *
+     * @param enabled 是否启用，为 null 时不筛选
+     * @param role    角色编码，为 null 时不筛选
+     * @param sort    排序方式：ID 按 ID 升序，CREATED_AT 按创建时间倒序
+     * @param cursor  上一页返回的游标，为 null 时从第一页开始
+     * @param size    每页条数，限制在 1 到 {@link #MAX_PAGE_SIZE} 之间
+     */
+    @Transactional(readOnly = true)
+    public UserPageResponse list(Boolean enabled, String role, Sort sort, String cursor, int size) {
+        int pageSize = Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+        Query query = filter(enabled, role);
+        if (query == null) {
+            return UserPageResponse.builder().items(List.of()).build();
+        }
+        if (cursor != null && !cursor.isEmpty()) {
+            seek(query, sort, Cursor.decode(cursor, sort));
+        }
+        query.sql.append(sort == Sort.ID ? " ORDER BY id" : " ORDER BY created_at DESC, id DESC");
+        // 多取一行判断是否还有下一页
+        query.sql.append(" LIMIT ?");
+        query.args.add(pageSize + 1);
+
+        List<UserSummaryResponse> items = jdbcTemplate.query(query.sql.toString(), rowMapper, query.args.toArray());
+        String nextCursor = null;
+        if (items.size() > pageSize) {
+            items = items.subList(0, pageSize);
+            UserSummaryResponse last = items.get(pageSize - 1);
+            nextCursor = new Cursor(sort, last.getCreatedAt(), last.getId()).encode();
+        }
+        return UserPageResponse.builder().items(items).nextCursor(nextCursor).build();
+    }
+
+    /**
+     * 按 ID 顺序导出全部符合条件的用户，不含密码
+     * 导出期间占用一个数据库连接，结果逐行写入输出流
+     *
+     * @throws com.tiantianai.shared.exception.ServerBusyException 同时进行的导出已达上限
+     */
+    @Transactional(readOnly = true)
+    public void export(Boolean enabled, String role, ExportFormat format, OutputStream out) throws IOException {
+        if (!exportPermits.tryAcquire()) {
+            throw ErrorCode.USER_EXPORT_BUSY.exception();
+        }
+        try {
+            doExport(enabled, role, format, out);
+        } finally {
+            exportPermits.release();
+        }
+    }
+
+    private void doExport(Boolean enabled, String role, ExportFormat format, OutputStream out) throws IOException {
+        Query query = filter(enabled, role);
+        if (format == ExportFormat.CSV) {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+            // 带 BOM 便于 Excel 识别 UTF-8，导入时会跳过
+            writer.write('\uFEFF');
+            writer.write(CSV_HEADER);
+            if (query != null) {
+                stream(query, rs -> writeCsv(writer, toSummary(rs)));
+            }
+            writer.flush();
+        } else {
+            try (JsonGenerator generator = ndjsonWriter.createGenerator(out)) {
+                generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+                if (query != null) {
+                    stream(query, rs -> {
+                        ndjsonWriter.writeValue(generator, toSummary(rs));
+                        generator.writeRaw('\n');
+                    });
+                }
+            }
+        }
+    }
+
+    private void stream(Query query, RowHandler handler) {
+        query.sql.append(" ORDER BY id");
+        String sql = exportSelect + query.sql.substring("SELECT".length());
+        long startedAt = System.nanoTime();
+        long[] rows = {0};
+        exportJdbcTemplate.query(sql, (RowCallbackHandler) rs -> {
+            try {
+                handler.handle(rs);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            rows[0]++;
+        }, query.args.toArray());
+        log.info("导出用户 {} 行，耗时 {} ms", rows[0], (System.nanoTime() - startedAt) / 1_000_000);
+    }
+
+    /**
+     * 构造筛选条件，角色未登记时返回 null（结果必然为空）
+     */
+    private Query filter(Boolean enabled, String role) {
+        Query query = new Query();
+        query.sql.append(COLUMNS).append(" WHERE 1 = 1");
+        if (enabled != null) {
+            query.sql.append(" AND enabled = ?");
+            query.args.add(enabled);
+        }
+        if (role != null && !role.isEmpty()) {
+            int bit = roleRegistry.bitOf(role);
+            if (bit < 0) {
+                return null;
+            }
+            query.sql.append(" AND ").append(roleCondition);
+            query.args.add(1L << bit);
+        }
+        return query;
+    }
+
+    private static void seek(Query query, Sort sort, Cursor cursor) {
+        if (sort == Sort.ID) {
+            query.sql.append(" AND id > ?");
+            query.args.add(cursor.id());
+            return;
+        }
+        // 与 (created_at, id) < (?, ?) 等价，前半部分给出索引范围
+        Timestamp createdAt = Timestamp.valueOf(cursor.createdAt());
+        query.sql.append(" AND created_at <= ? AND (created_at < ? OR id < ?)");
+        query.args.add(createdAt);
+        query.args.add(createdAt);
+        query.args.add(cursor.id());
+    }
+
+    private UserSummaryResponse toSummary(ResultSet rs) throws SQLException {
+        return UserSummaryResponse.builder()
+                .id(rs.getLong("id"))
+                .username(rs.getString("username"))
+                .realName(rs.getString("real_name"))
+                .homePath(rs.getString("home_path"))
+                .roles(roleRegistry.rolesOf(rs.getLong("role_mask")))
+                .enabled(rs.getBoolean("enabled"))
+                .createdAt(rs.getTimestamp("created_at").toLocalDateTime())
+                .build();
+    }
+
+    private static void writeCsv(Writer writer, UserSummaryResponse user) throws IOException {
+        writer.write(String.valueOf(user.getId()));
+        writer.write(',');
+        writeCsvField(writer, user.getUsername());
+        writer.write(',');
+        writeCsvField(writer, user.getRealName());
+        writer.write(',');
+        writeCsvField(writer, user.getHomePath());
+        writer.write(',');
+        writeCsvField(writer, String.join("|", user.getRoles()));
+        writer.write(',');
+        writer.write(user.getEnabled().toString());
+        writer.write(',');
+        writer.write(user.getCreatedAt().toString());
+        writer.write('\n');
+    }
+
+    private static void writeCsvField(Writer writer, String value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        if (!value.isEmpty() && isFormulaPrefix(value.charAt(0))) {
+            // 用户可控的值以公式字符开头时加单引号，在电子表格中打开时按文本显示而不作为公式执行
+            value = "'" + value;
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+
+    private static boolean isFormulaPrefix(char c) {
+        return c == '=' || c == '+' || c == '-' || c == '@' || c == '\t' || c == '\r';
+    }
+
+    /**
+     * 识别数据库类型，SQL 方言与流式读取方式依赖于此，无法识别或不受支持时启动失败
+     */
+    private static String databaseProductName(DataSource dataSource) {
+        String productName;
+        try {
+            productName = JdbcUtils.extractDatabaseMetaData(dataSource, DatabaseMetaData::getDatabaseProductName);
+        } catch (Exception e) {
+            throw new IllegalStateException("获取数据库类型失败", e);
+        }
+        if (!"MySQL".equals(productName) && !"H2".equals(productName)) {
+            throw new IllegalStateException("用户列表不支持的数据库类型: " + productName);
+        }
+        return productName;
+    }
+
+    /**
+     * 排序方式
+     */
+    public enum Sort {
+        ID, CREATED_AT;
+
+        public static Sort of(String value) {
+            if (value == null || value.isEmpty() || "id".equals(value)) {
+                return ID;
+            }
+            if ("createdAt".equals(value)) {
+                return CREATED_AT;
+            }
+            throw ErrorCode.USER_LIST_SORT_INVALID.exception();
+        }
+    }
+
+    /**
+     * 导出格式
+     */
+    public enum ExportFormat {
+        CSV, NDJSON;
+
+        public static ExportFormat of(String value) {
+            return switch (value == null ? "csv" : value.toLowerCase(Locale.ROOT)) {
+                case "csv" -> CSV;
+                case "ndjson" -> NDJSON;
+                default -> throw ErrorCode.USER_EXPORT_FORMAT_INVALID.exception();
+            };
+        }
+    }
+
+    /**
+     * 分页游标：上一页最后一行的排序键，Base64 编码后对调用方不透明
+     */
+    private record Cursor(Sort sort, LocalDateTime createdAt, long id) {
+
+        String encode() {
+            String value = sort == Sort.ID ? sort.name() + ":" + id : sort.name() + ":" + id + ":" + createdAt;
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+        }
+
+        static Cursor decode(String cursor, Sort sort) {
+            try {
+                String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8)
+                        .split(":", 3);
+                if (!sort.name().equals(parts[0]) || parts.length != (sort == Sort.ID ? 2 : 3)) {
+                    throw ErrorCode.USER_LIST_CURSOR_INVALID.exception();
+                }
+                LocalDateTime createdAt = sort == Sort.ID ? null : LocalDateTime.parse(parts[2]);
+                return new Cursor(sort, createdAt, Long.parseLong(parts[1]));
+            } catch (IllegalArgumentException | DateTimeException e) {
+                throw ErrorCode.USER_LIST_CURSOR_INVALID.exception();
+            }
+        }
+    }
+
+    private static final class Query {
+        private final StringBuilder sql = new StringBuilder();
+        private final List<Object> args = new ArrayList<>();
+    }
+
+    @FunctionalInterface
+    private interface RowHandler {
+        void handle(ResultSet rs) throws SQLException, IOException;
+    }
+}
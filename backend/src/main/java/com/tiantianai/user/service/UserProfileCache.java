@@ -0,0 +1,129 @@
+package com.tiantianai.user.service;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.tiantianai.shared.config.UserCacheProperties;
+import com.tiantianai.shared.exception.BusinessException;
+import com.tiantianai.shared.exception.ErrorCode;
+import com.tiantianai.user.dto.UserInfoResponse;
+import com.tiantianai.user.dto.UserProfileView;
+import com.tiantianai.user.event.UserChangedEvent;
+import com.tiantianai.user.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * 用户资料读穿缓存
+ * 缓存用户信息与权限码，同一用户的并发未命中只触发一次查询；
+ * 用户保存后在事务提交时失效。
+ * 查询在调用线程上、缓存内部锁之外执行，虚拟线程等待数据库时不会钉住载体线程
+ */
+@Slf4j
+@Component
+public class UserProfileCache {
+
+    private final UserRepository userRepository;
+    private final RoleRegistry roleRegistry;
+    private final AsyncCache<Long, Entry> cache;
+
+    public UserProfileCache(UserRepository userRepository,
+                            RoleRegistry roleRegistry,
+                            UserCacheProperties properties,
+                            MeterRegistry meterRegistry) {
+        this.userRepository = userRepository;
+        this.roleRegistry = roleRegistry;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(properties.getMaximumSize())
+                .expireAfterWrite(properties.getTtl())
+                .recordStats()
+                .buildAsync();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "user.profile");
+    }
+
+    /**
+     * 获取用户资料，未命中时加载
+     *
+     * @throws BusinessException 用户不存在
+     */
+    public Entry get(Long userId) {
+        CompletableFuture<Entry> entry = cache.getIfPresent(userId);
+        if (entry == null) {
+            CompletableFuture<Entry> loading = new CompletableFuture<>();
+            entry = cache.asMap().putIfAbsent(userId, loading);
+            if (entry == null) {
+                // 由本线程加载，失败的 Future 会被缓存自动移除
+                try {
+                    Entry loaded = load(userId);
+                    loading.complete(loaded);
+                    return loaded;
+                } catch (RuntimeException e) {
+                    loading.completeExceptionally(e);
+                    throw e;
+                }
+            }
+        }
+        try {
+            return entry.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * 使指定用户的缓存失效
+     */
+    public void invalidate(Long userId) {
+        cache.synchronous().invalidate(userId);
+    }
+
+    /**
+     * 用户变更在事务提交后失效缓存，无事务时立即失效
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        if (event.userId() != null) {
+            invalidate(event.userId());
+        }
+    }
+
+    private Entry load(Long userId) {
+        UserProfileView user = userRepository.findProfileById(userId)
+                .orElseThrow(ErrorCode.USER_NOT_FOUND::exception);
+        Set<String> roles = roleRegistry.rolesOf(user.roleMask());
+        UserInfoResponse userInfo = UserInfoResponse.builder()
+                .id(user.id())
+                .username(user.username())
+                .realName(user.realName())
+                .homePath(user.homePath())
+                .roles(roles)
+                .build();
+        return new Entry(userInfo, roles.toArray(new String[0]), user.version());
+    }
+
+    /**
+     * 缓存条目
+     *
+     * @param userInfo    用户信息
+     * @param accessCodes 权限码
+     * @param version     用户数据版本
+     */
+    public record Entry(UserInfoResponse userInfo, String[] accessCodes, Long version) {
+
+        /**
+         * 由用户 ID 与数据版本生成的强 ETag 值
+         */
+        public String eTag() {
+            return "u" + userInfo.getId() + "." + version;
+        }
+    }
+}
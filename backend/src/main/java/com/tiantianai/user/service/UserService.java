@@ -1,13 +1,9 @@
 package com.tiantianai.user.service;
 
-import com.tiantianai.shared.exception.BusinessException;
 import com.tiantianai.user.dto.UserInfoResponse;
-import com.tiantianai.user.model.User;
-import com.tiantianai.user.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 /**
  * 用户服务
@@ -17,22 +13,34 @@ import org.springframework.transaction.annotation.Transactional;
 @RequiredArgsConstructor
 public class UserService {
 
-    private final UserRepository userRepository;
+    private final UserProfileCache userProfileCache;
 
     /**
      * 获取用户信息
+     * 读取缓存，命中时不占用数据库连接
      */
-    @Transactional(readOnly = true)
     public UserInfoResponse getUserInfo(Long userId) {
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new BusinessException("用户不存在"));
+        return userProfileCache.get(userId).userInfo();
+    }
+
+    /**
+     * 获取用户资料（用户信息与权限码）
+     */
+    public UserProfileCache.Entry getProfile(Long userId) {
+        return userProfileCache.get(userId);
+    }
 
-        return UserInfoResponse.builder()
-                .id(user.getId())
-                .username(user.getUsername())
-                .realName(user.getRealName())
-                .homePath(user.getHomePath())
-                .roles(user.getRoles())
-                .build();
+    /**
+     * 获取用户数据的 ETag，仅读取缓存条目，不构建响应
+     */
+    public String getETag(Long userId) {
+        return userProfileCache.get(userId).eTag();
+    }
+
+    /**
+     * 获取权限码列表
+     */
+    public String[] getAccessCodes(Long userId) {
+        return userProfileCache.get(userId).accessCodes().clone();
     }
 }
@@ -0,0 +1,2 @@
+-- 菜单数据版本，可见角色变更时随之递增
+alter table menus add column version bigint default 0 not null;
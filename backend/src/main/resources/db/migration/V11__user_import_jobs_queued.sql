@@ -0,0 +1,2 @@
+-- 导入任务增加排队状态：工作线程开始执行时才改为 RUNNING
+alter table user_import_jobs modify column status enum ('COMPLETED','FAILED','QUEUED','RUNNING') not null;
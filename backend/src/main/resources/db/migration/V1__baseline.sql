@@ -0,0 +1,20 @@
+-- 初始结构：用户与旧版用户角色表
+-- 已有数据库由 baseline-on-migrate 以版本 1 作为基线，不会执行本脚本
+create table users (
+    id          bigint       not null auto_increment,
+    username    varchar(50)  not null,
+    password    varchar(255) not null,
+    real_name   varchar(50),
+    home_path   varchar(200),
+    enabled     bit          not null,
+    created_at  datetime(6)  not null,
+    updated_at  datetime(6)  not null,
+    primary key (id),
+    constraint uk_users_username unique (username)
+) engine=InnoDB;
+
+create table user_roles (
+    user_id bigint not null,
+    role    varchar(255),
+    constraint fk_user_roles_user_id foreign key (user_id) references users (id)
+) engine=InnoDB;
@@ -0,0 +1,16 @@
+-- 刷新令牌（轮换与重用检测）
+create table refresh_tokens (
+    id          bigint      not null auto_increment,
+    user_id     bigint      not null,
+    family_id   varchar(36) not null,
+    token_hash  varchar(64) not null,
+    expires_at  datetime(6) not null,
+    used_at     datetime(6),
+    revoked_at  datetime(6),
+    created_at  datetime(6) not null,
+    primary key (id),
+    constraint uk_refresh_tokens_token_hash unique (token_hash)
+) engine=InnoDB;
+
+create index idx_refresh_tokens_user_id on refresh_tokens (user_id);
+create index idx_refresh_tokens_family_id on refresh_tokens (family_id);
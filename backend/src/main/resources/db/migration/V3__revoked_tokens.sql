@@ -0,0 +1,10 @@
+-- 已吊销的访问令牌，启动时重建内存吊销名单
+create table revoked_tokens (
+    token_id    varchar(36) not null,
+    user_id     bigint,
+    expires_at  datetime(6) not null,
+    revoked_at  datetime(6) not null,
+    primary key (token_id)
+) engine=InnoDB;
+
+create index idx_revoked_tokens_expires_at on revoked_tokens (expires_at);
@@ -0,0 +1,24 @@
+-- 菜单与菜单可见角色
+create table menus (
+    id            bigint       not null auto_increment,
+    parent_id     bigint,
+    name          varchar(100) not null,
+    path          varchar(200) not null,
+    component     varchar(200),
+    redirect      varchar(200),
+    title         varchar(100) not null,
+    icon          varchar(100),
+    sort_order    integer      not null,
+    affix_tab     bit          not null,
+    hide_in_menu  bit          not null,
+    created_at    datetime(6)  not null,
+    updated_at    datetime(6)  not null,
+    primary key (id),
+    constraint uk_menus_name unique (name)
+) engine=InnoDB;
+
+create table menu_roles (
+    menu_id bigint not null,
+    role    varchar(255),
+    constraint fk_menu_roles_menu_id foreign key (menu_id) references menus (id)
+) engine=InnoDB;
@@ -0,0 +1,2 @@
+-- 用户数据版本，用作 ETag
+alter table users add column version bigint default 0 not null;
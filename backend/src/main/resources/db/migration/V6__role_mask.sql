@@ -0,0 +1,12 @@
+-- 角色字典与用户角色掩码，旧 user_roles 表保留到确认迁移无误后手工删除
+create table roles (
+    id          bigint      not null auto_increment,
+    bit         integer     not null,
+    code        varchar(50) not null,
+    created_at  datetime(6) not null,
+    primary key (id),
+    constraint uk_roles_bit unique (bit),
+    constraint uk_roles_code unique (code)
+) engine=InnoDB;
+
+alter table users add column role_mask bigint default 0 not null;
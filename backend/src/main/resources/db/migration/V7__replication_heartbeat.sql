@@ -0,0 +1,6 @@
+-- 复制延迟心跳，写入主库后由复制同步到副本
+create table replication_heartbeat (
+    id      int    not null,
+    beat_at bigint not null,
+    primary key (id)
+) engine=InnoDB;
@@ -0,0 +1,12 @@
+-- 批量导入用户任务与断点
+create table user_import_jobs (
+    id              varchar(64)  not null,
+    status          enum ('COMPLETED','FAILED','RUNNING') not null,
+    processed_rows  bigint       not null,
+    imported_count  bigint       not null,
+    skipped_count   bigint       not null,
+    error_message   varchar(500),
+    created_at      datetime(6)  not null,
+    updated_at      datetime(6)  not null,
+    primary key (id)
+) engine=InnoDB;
@@ -0,0 +1,2 @@
+-- 用户列表按创建时间键集分页
+create index idx_users_created_at_id on users (created_at, id);
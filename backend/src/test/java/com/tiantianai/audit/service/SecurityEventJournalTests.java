@@ -0,0 +1,191 @@
+package com.tiantianai.audit.service;
+
+import com.tiantianai.audit.model.SecurityEvent;
+import com.tiantianai.audit.model.SecurityEventType;
+import com.tiantianai.shared.config.AuditJournalProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SecurityEventJournalTests {
+
+    @TempDir
+    Path directory;
+
+    private final MutableClock clock = new MutableClock();
+    private final AuditJournalProperties properties = new AuditJournalProperties();
+
+    private SecurityEventJournal journal;
+
+    @AfterEach
+    void tearDown() throws Exception {
+        if (journal != null) {
+            journal.stop();
+        }
+    }
+
+    @Test
+    void queriesByUserAndTimeRange() throws Exception {
+        start();
+        journal.record(SecurityEventType.LOGIN_FAILURE, null, "10.0.0.1");
+        journal.record(SecurityEventType.LOGIN_SUCCESS, 1L, "10.0.0.1");
+        clock.advance(Duration.ofMinutes(10));
+        journal.record(SecurityEventType.TOKEN_REFRESH, 1L, "2001:db8::1");
+        journal.record(SecurityEventType.LOGIN_SUCCESS, 2L, null);
+        clock.advance(Duration.ofMinutes(10));
+        journal.record(SecurityEventType.LOGOUT, 1L, "10.0.0.1");
+        awaitWritten(5);
+
+        List<SecurityEvent> user1 = journal.query(1L, null, null, 100);
+        assertEquals(List.of(SecurityEventType.LOGIN_SUCCESS, SecurityEventType.TOKEN_REFRESH, SecurityEventType.LOGOUT),
+                user1.stream().map(SecurityEvent::type).toList());
+        assertEquals("2001:db8::1", user1.get(1).ip());
+
+        Instant start = MutableClock.START;
+        List<SecurityEvent> window = journal.query(null, start.plus(Duration.ofMinutes(5)),
+                start.plus(Duration.ofMinutes(20)), 100);
+        assertEquals(2, window.size());
+        assertNull(window.get(1).ip());
+        assertEquals(0L, journal.query(null, null, null, 1).get(0).userId());
+    }
+
+    @Test
+    void rotatesBySizeAndTimeAndRemovesExpiredSegments() throws Exception {
+        properties.setSegmentSize(DataSize.ofBytes(JournalSegment.HEADER_SIZE + 4L * JournalSegment.RECORD_SIZE));
+        properties.setRotationInterval(Duration.ofHours(1));
+        properties.setRetention(Duration.ofDays(1));
+        start();
+
+        for (int i = 0; i < 10; i++) {
+            journal.record(SecurityEventType.LOGIN_SUCCESS, (long) i, null);
+        }
+        awaitWritten(10);
+        assertEquals(3, segmentFiles());
+
+        clock.advance(Duration.ofHours(2));
+        journal.record(SecurityEventType.LOGOUT, 1L, null);
+        awaitWritten(11);
+        assertEquals(4, segmentFiles());
+
+        // 只有下一段的创建时间也早于保留期限时才能确定整段过期
+        clock.advance(Duration.ofDays(2));
+        journal.record(SecurityEventType.LOGOUT, 2L, null);
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (segmentFiles() > 2) {
+            assertTrue(System.nanoTime() < deadline, "过期段未在时限内删除");
+            Thread.sleep(10);
+        }
+        awaitWritten(2);
+        List<SecurityEvent> remaining = journal.query(null, null, null, 100);
+        assertEquals(List.of(1L, 2L), remaining.stream().map(SecurityEvent::userId).toList());
+    }
+
+    @Test
+    void recoversAfterTornWrite() throws Exception {
+        start();
+        for (int i = 0; i < 3; i++) {
+            journal.record(SecurityEventType.LOGIN_SUCCESS, (long) i, "10.0.0." + i);
+        }
+        awaitWritten(3);
+        journal.stop();
+
+        // 第三条记录只写了一半：校验和不匹配
+        Path segment;
+        try (Stream<Path> files = Files.list(directory)) {
+            segment = files.findFirst().orElseThrow();
+        }
+        try (RandomAccessFile file = new RandomAccessFile(segment.toFile(), "rw")) {
+            file.seek(JournalSegment.HEADER_SIZE + 2L * JournalSegment.RECORD_SIZE + 8);
+            file.writeLong(99);
+        }
+
+        start();
+        assertEquals(2, journal.query(null, null, null, 100).size());
+
+        journal.record(SecurityEventType.LOGOUT, 7L, null);
+        awaitWritten(3);
+        List<SecurityEvent> events = journal.query(null, null, null, 100);
+        assertEquals(SecurityEventType.LOGOUT, events.get(2).type());
+        assertEquals(7L, events.get(2).userId());
+        assertEquals(1, segmentFiles());
+    }
+
+    @Test
+    void skipsZeroedSegmentOnStartup() throws Exception {
+        // 崩溃前刚创建、头部尚未落盘的段文件
+        Path zeroed = directory.resolve(JournalSegment.fileName(MutableClock.START.toEpochMilli()));
+        try (RandomAccessFile file = new RandomAccessFile(zeroed.toFile(), "rw")) {
+            file.setLength(JournalSegment.HEADER_SIZE + 4L * JournalSegment.RECORD_SIZE);
+        }
+
+        start();
+        assertTrue(Files.exists(directory.resolve(zeroed.getFileName() + SecurityEventJournal.CORRUPT_SUFFIX)));
+
+        journal.record(SecurityEventType.LOGIN_SUCCESS, 1L, null);
+        awaitWritten(1);
+        assertEquals(1L, journal.query(null, null, null, 100).get(0).userId());
+        assertEquals(2, segmentFiles());
+    }
+
+    private void start() throws IOException {
+        properties.setDirectory(directory);
+        journal = new SecurityEventJournal(properties, clock, new SimpleMeterRegistry());
+        journal.start();
+    }
+
+    private void awaitWritten(int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (journal.query(null, null, null, SecurityEventJournal.MAX_QUERY_LIMIT).size() < expected) {
+            assertTrue(System.nanoTime() < deadline, "事件未在时限内写入");
+            Thread.sleep(10);
+        }
+    }
+
+    private long segmentFiles() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.count();
+        }
+    }
+
+    private static final class MutableClock extends Clock {
+
+        static final Instant START = Instant.parse("2024-01-01T00:00:00Z");
+
+        private volatile Instant now = START;
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.tiantianai.auth.controller;
+
+import com.tiantianai.audit.service.SecurityEventJournal;
+import com.tiantianai.auth.dto.RevokeTokenRequest;
+import com.tiantianai.auth.service.AuthService;
+import com.tiantianai.auth.service.RefreshTokenService;
+import com.tiantianai.auth.service.TokenRevocationService;
+import com.tiantianai.shared.config.JwtProperties;
+import com.tiantianai.shared.exception.BusinessException;
+import com.tiantianai.shared.exception.ErrorCode;
+import com.tiantianai.shared.security.JwtPrincipal;
+import com.tiantianai.shared.security.RoleResolver;
+import com.tiantianai.shared.security.RoleSet;
+import com.tiantianai.shared.util.JwtUtil;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+class AuthControllerTests {
+
+    private final JwtProperties jwtProperties = new JwtProperties();
+    private final RoleResolver roleResolver = mock(RoleResolver.class);
+    private final TokenRevocationService tokenRevocationService = mock(TokenRevocationService.class);
+    private final AuthController controller = new AuthController(mock(AuthService.class),
+            mock(RefreshTokenService.class), tokenRevocationService,
+            new JwtUtil(jwtProperties, roleResolver), jwtProperties, mock(SecurityEventJournal.class));
+
+    @BeforeEach
+    void setUp() {
+        when(roleResolver.rolesOf(anyLong())).thenReturn(new RoleSet(0L, new String[0], Map.of()));
+    }
+
+    @Test
+    void malformedTokenIsRejectedWithCatalogError() {
+        BusinessException e = assertThrows(BusinessException.class, () -> controller.revoke(request("not-a-jwt")));
+
+        assertSame(ErrorCode.TOKEN_INVALID, e.getErrorCode());
+        verify(tokenRevocationService, never()).revoke(any());
+    }
+
+    @Test
+    void expiredTokenIsAcceptedWithoutRevoking() {
+        jwtProperties.setExpiration(-1_000L);
+        String token = new JwtUtil(jwtProperties, roleResolver).generateToken(1L, "jack", 0L);
+
+        assertEquals(200, controller.revoke(request(token)).getCode());
+        verify(tokenRevocationService, never()).revoke(any());
+    }
+
+    @Test
+    void validTokenIsRevoked() {
+        String token = new JwtUtil(jwtProperties, roleResolver).generateToken(1L, "jack", 0L);
+
+        controller.revoke(request(token));
+
+        verify(tokenRevocationService).revoke(any(JwtPrincipal.class));
+    }
+
+    private static RevokeTokenRequest request(String token) {
+        RevokeTokenRequest request = new RevokeTokenRequest();
+        request.setToken(token);
+        return request;
+    }
+}
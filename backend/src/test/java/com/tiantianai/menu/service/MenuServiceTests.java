@@ -0,0 +1,75 @@
+package com.tiantianai.menu.service;
+
+import com.tiantianai.menu.dto.MenuResponse;
+import com.tiantianai.menu.model.Menu;
+import com.tiantianai.menu.repository.MenuRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class MenuServiceTests {
+
+    private static final String NAME = "MenuRolesOnly";
+
+    @Autowired
+    private MenuService menuService;
+
+    @Autowired
+    private MenuRepository menuRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @AfterEach
+    void tearDown() {
+        menuRepository.findAll().stream()
+                .filter(menu -> NAME.equals(menu.getName()))
+                .forEach(menuRepository::delete);
+    }
+
+    @Test
+    void changingOnlyRolesRebuildsTree() {
+        Long id = menuRepository.save(Menu.builder()
+                .name(NAME)
+                .path("/roles-only")
+                .title("roles-only")
+                .roles(new HashSet<>(Set.of("menu-a")))
+                .build()).getId();
+        assertTrue(containsMenu(menuService.getMenus(Set.of("menu-a"))));
+        assertFalse(containsMenu(menuService.getMenus(Set.of("menu-b"))));
+        String eTag = menuService.getETag(Set.of("menu-b"));
+
+        transactionTemplate.executeWithoutResult(status -> {
+            Menu menu = menuRepository.findById(id).orElseThrow();
+            menu.getRoles().clear();
+            menu.getRoles().add("menu-b");
+        });
+
+        assertFalse(containsMenu(menuService.getMenus(Set.of("menu-a"))));
+        assertTrue(containsMenu(menuService.getMenus(Set.of("menu-b"))));
+        assertNotEquals(eTag, menuService.getETag(Set.of("menu-b")));
+    }
+
+    @Test
+    void eTagDistinguishesRoleSetsWithEqualHashCodes() {
+        // "Aa" 与 "BB" 的 String.hashCode() 相同
+        assertEquals("Aa".hashCode(), "BB".hashCode());
+        assertNotEquals(menuService.getETag(Set.of("Aa")), menuService.getETag(Set.of("BB")));
+        assertEquals(menuService.getETag(Set.of("x", "y")), menuService.getETag(Set.of("y", "x")));
+    }
+
+    private static boolean containsMenu(List<MenuResponse> roots) {
+        return roots.stream().anyMatch(menu -> NAME.equals(menu.getName()));
+    }
+}
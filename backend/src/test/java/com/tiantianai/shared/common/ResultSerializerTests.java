@@ -0,0 +1,85 @@
+package com.tiantianai.shared.common;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tiantianai.auth.dto.LoginResponse;
+import com.tiantianai.auth.dto.SessionBootstrapResponse;
+import com.tiantianai.menu.dto.MenuResponse;
+import com.tiantianai.shared.config.JacksonConfig;
+import com.tiantianai.shared.exception.ErrorCode;
+import com.tiantianai.user.dto.UserInfoResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 与默认 Bean 序列化逐字节比较
+ */
+class ResultSerializerTests {
+
+    private final ObjectMapper defaultMapper = Jackson2ObjectMapperBuilder.json().build();
+    private final ObjectMapper optimizedMapper = Jackson2ObjectMapperBuilder.json()
+            .modulesToInstall(new JacksonConfig().resultModule(), new JacksonConfig().blackbirdModule())
+            .build();
+
+    @Test
+    void successEnvelopeIsByteCompatible() throws Exception {
+        UserInfoResponse userInfo = UserInfoResponse.builder()
+                .id(1L)
+                .username("admin")
+                .realName("管理员 \"A\"")
+                .homePath("/dashboard")
+                .roles(new LinkedHashSet<>(List.of("admin", "user")))
+                .build();
+
+        assertSameBytes(Result.success(userInfo));
+        assertSameBytes(Result.success());
+        assertSameBytes(Result.success(List.of(1, 2, 3)));
+        assertSameBytes(Result.success(Map.of("key", "value")));
+    }
+
+    @Test
+    void loginResponsesAreByteCompatible() throws Exception {
+        assertSameBytes(Result.success(LoginResponse.builder()
+                .accessToken("token")
+                .refreshToken("hidden")
+                .build()));
+        assertSameBytes(Result.success(LoginResponse.builder()
+                .accessToken("token")
+                .bootstrap(SessionBootstrapResponse.builder()
+                        .userInfo(UserInfoResponse.builder().id(2L).username("vben").build())
+                        .accessCodes(new String[]{"AC_100100"})
+                        .menus(List.of(MenuResponse.builder()
+                                .name("Dashboard")
+                                .path("/dashboard")
+                                .meta(MenuResponse.Meta.builder().title("概览").order(-1).build())
+                                .build()))
+                        .build())
+                .build()));
+    }
+
+    @Test
+    void errorEnvelopeIsByteCompatible() throws Exception {
+        for (ErrorCode errorCode : ErrorCode.values()) {
+            assertSameBytes(Result.error(errorCode.getCode(), errorCode.getMessage()));
+        }
+        assertSameBytes(Result.error("运行时异常: \n换行"));
+        assertSameBytes(Result.error(400, null));
+        assertSameBytes(new Result<>());
+    }
+
+    @Test
+    void nestedResultsAreByteCompatible() throws Exception {
+        assertSameBytes(List.of(Result.success("a"), Result.error("b")));
+    }
+
+    private void assertSameBytes(Object value) throws Exception {
+        String expected = defaultMapper.writeValueAsString(value);
+        assertEquals(expected, optimizedMapper.writeValueAsString(value));
+        assertArrayEquals(defaultMapper.writeValueAsBytes(value), optimizedMapper.writeValueAsBytes(value));
+    }
+}
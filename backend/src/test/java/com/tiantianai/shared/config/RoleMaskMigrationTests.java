@@ -0,0 +1,46 @@
+package com.tiantianai.shared.config;
+
+import com.tiantianai.user.service.UserProfileCache;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class RoleMaskMigrationTests {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private RoleMaskMigration migration;
+
+    @Autowired
+    private UserProfileCache userProfileCache;
+
+    @Test
+    void backfillBumpsVersionAndInvalidatesCachedProfile() {
+        jdbcTemplate.update("DELETE FROM users WHERE username = 'legacy-roles'");
+        jdbcTemplate.update("INSERT INTO users (username, password, role_mask, enabled, version, created_at, updated_at) "
+                + "VALUES ('legacy-roles', 'x', 0, TRUE, 0, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP)");
+        Long userId = jdbcTemplate.queryForObject("SELECT id FROM users WHERE username = 'legacy-roles'", Long.class);
+        jdbcTemplate.update("INSERT INTO user_roles (user_id, role) VALUES (?, 'legacy-role')", userId);
+
+        // 迁移执行前已有请求缓存了无角色的资料
+        UserProfileCache.Entry stale = userProfileCache.get(userId);
+        assertTrue(stale.userInfo().getRoles().isEmpty());
+
+        migration.run(null);
+
+        UserProfileCache.Entry fresh = userProfileCache.get(userId);
+        assertEquals(Set.of("legacy-role"), fresh.userInfo().getRoles());
+        assertEquals(stale.version() + 1, fresh.version());
+        assertNotEquals(stale.eTag(), fresh.eTag());
+    }
+}
@@ -0,0 +1,170 @@
+package com.tiantianai.shared.datasource;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.SimpleDriverDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 以两个内嵌 H2 库分别充当主库与副本，心跳复制由测试手工完成
+ */
+class ReplicaRoutingDataSourceTests {
+
+    private final MutableClock clock = new MutableClock();
+
+    private JdbcTemplate primary;
+    private JdbcTemplate replica;
+    private ReplicaLagMonitor monitor;
+    private JdbcTemplate routed;
+    private TransactionTemplate readWrite;
+    private TransactionTemplate readOnly;
+
+    @BeforeEach
+    void setUp() {
+        DataSource primaryDataSource = h2("primary");
+        DataSource replicaDataSource = h2("replica");
+        primary = new JdbcTemplate(primaryDataSource);
+        replica = new JdbcTemplate(replicaDataSource);
+        primary.execute("CREATE TABLE node (name VARCHAR(20))");
+        primary.update("INSERT INTO node VALUES ('primary')");
+        replica.execute("CREATE TABLE node (name VARCHAR(20))");
+        replica.update("INSERT INTO node VALUES ('replica')");
+
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        monitor = new ReplicaLagMonitor(primaryDataSource, replicaDataSource,
+                Duration.ofSeconds(5), clock, meterRegistry);
+        // 心跳表在生产环境由 Flyway 创建
+        for (JdbcTemplate node : new JdbcTemplate[]{primary, replica}) {
+            node.execute("CREATE TABLE " + ReplicaLagMonitor.HEARTBEAT_TABLE
+                    + " (id INT PRIMARY KEY, beat_at BIGINT NOT NULL)");
+        }
+
+        LazyConnectionDataSourceProxy proxy = new LazyConnectionDataSourceProxy(primaryDataSource);
+        proxy.setReadOnlyDataSource(
+                new ReplicaRoutingDataSource(primaryDataSource, replicaDataSource, monitor, meterRegistry));
+        routed = new JdbcTemplate(proxy);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(proxy);
+        readWrite = new TransactionTemplate(transactionManager);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+    }
+
+    @Test
+    void readOnlyTransactionsUsePrimaryUntilReplicaIsConfirmed() {
+        assertFalse(monitor.isUsable());
+        assertEquals("primary", readNode(readOnly));
+
+        monitor.check();
+        replicate();
+        clock.advance(Duration.ofSeconds(1));
+        monitor.check();
+
+        assertTrue(monitor.isUsable());
+        assertEquals(1_000, monitor.getLagMillis());
+        assertEquals("replica", readNode(readOnly));
+        assertEquals("primary", readNode(readWrite));
+        assertEquals("primary", routed.queryForObject("SELECT name FROM node", String.class));
+    }
+
+    @Test
+    void laggingReplicaFallsBackToPrimaryAndRecovers() {
+        monitor.check();
+        replicate();
+        clock.advance(Duration.ofSeconds(1));
+        monitor.check();
+        assertTrue(monitor.isUsable());
+
+        // 副本停止复制后按心跳间隔每秒检测一次，延迟逐秒增长，超过 5 秒阈值后回退主库
+        for (int second = 2; second <= 5; second++) {
+            clock.advance(Duration.ofSeconds(1));
+            monitor.check();
+            assertEquals(second * 1_000L, monitor.getLagMillis());
+            assertTrue(monitor.isUsable());
+            assertEquals("replica", readNode(readOnly));
+        }
+        clock.advance(Duration.ofSeconds(1));
+        monitor.check();
+        assertEquals(6_000, monitor.getLagMillis());
+        assertFalse(monitor.isUsable());
+        assertEquals("primary", readNode(readOnly));
+
+        replicate();
+        clock.advance(Duration.ofSeconds(1));
+        monitor.check();
+        assertTrue(monitor.isUsable());
+        assertEquals(1_000, monitor.getLagMillis());
+        assertEquals("replica", readNode(readOnly));
+    }
+
+    @Test
+    void unreachableReplicaIsNotUsed() {
+        monitor.check();
+        replicate();
+        clock.advance(Duration.ofSeconds(1));
+        monitor.check();
+        assertTrue(monitor.isUsable());
+
+        replica.execute("DROP TABLE " + ReplicaLagMonitor.HEARTBEAT_TABLE);
+        monitor.check();
+
+        assertFalse(monitor.isUsable());
+        assertEquals(-1, monitor.getLagMillis());
+        assertEquals("primary", readNode(readOnly));
+    }
+
+    private String readNode(TransactionTemplate template) {
+        return template.execute(status -> routed.queryForObject("SELECT name FROM node", String.class));
+    }
+
+    /**
+     * 把主库当前心跳复制到副本
+     */
+    private void replicate() {
+        Long beat = primary.queryForObject(
+                "SELECT beat_at FROM " + ReplicaLagMonitor.HEARTBEAT_TABLE + " WHERE id = 1", Long.class);
+        replica.update("MERGE INTO " + ReplicaLagMonitor.HEARTBEAT_TABLE + " (id, beat_at) KEY (id) VALUES (1, ?)", beat);
+    }
+
+    private static DataSource h2(String name) {
+        return new SimpleDriverDataSource(new org.h2.Driver(),
+                "jdbc:h2:mem:" + name + "-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", "sa", "");
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private Instant now = Instant.parse("2024-01-01T00:00:00Z");
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.tiantianai.shared.exception;
+
+import com.tiantianai.shared.common.Result;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GlobalExceptionHandlerTests {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final GlobalExceptionHandler handler = new GlobalExceptionHandler(meterRegistry);
+
+    @Test
+    void catalogExceptionsArePreallocatedAndStackless() {
+        BusinessException e = ErrorCode.BAD_CREDENTIALS.exception();
+
+        assertSame(e, ErrorCode.BAD_CREDENTIALS.exception());
+        assertEquals(0, e.getStackTrace().length);
+        e.addSuppressed(new IllegalStateException());
+        assertEquals(0, e.getSuppressed().length);
+        assertInstanceOf(ServerBusyException.class, ErrorCode.PASSWORD_HASH_BUSY.exception());
+        assertInstanceOf(TooManyRequestsException.class, ErrorCode.LOGIN_FAILURES_EXCEEDED.exception());
+    }
+
+    @Test
+    void loginFailureKeepsCodeAndIsNotUnauthorized() {
+        ResponseEntity<Result<Void>> response = handler.handleBusinessException(ErrorCode.BAD_CREDENTIALS.exception());
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(500, response.getBody().getCode());
+        assertEquals("用户名或密码错误", response.getBody().getMessage());
+        assertEquals(1, meterRegistry.get("app.exceptions").tag("error", "BAD_CREDENTIALS").counter().count());
+    }
+
+    @Test
+    void adHocBusinessExceptionsAreCountedWithoutErrorCode() {
+        ResponseEntity<Result<Void>> response = handler.handleBusinessException(new BusinessException(400, "参数错误"));
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(400, response.getBody().getCode());
+        assertEquals(1, meterRegistry.get("app.exceptions")
+                .tag("handler", "business").tag("code", "400").tag("error", "none").counter().count());
+    }
+}
@@ -0,0 +1,95 @@
+package com.tiantianai.shared.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.util.LogbackMDCAdapter;
+import ch.qos.logback.core.AppenderBase;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CountingAsyncAppenderTests {
+
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final LoggerContext context = new LoggerContext();
+
+    CountingAsyncAppenderTests() {
+        context.setMDCAdapter(new LogbackMDCAdapter());
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        context.stop();
+    }
+
+    @Test
+    void droppedEventsAreCountedWithoutBlocking() throws Exception {
+        CountDownLatch firstTaken = new CountDownLatch(1);
+        AppenderBase<ILoggingEvent> blocked = new AppenderBase<>() {
+            @Override
+            protected void append(ILoggingEvent event) {
+                firstTaken.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        };
+        blocked.setContext(context);
+        blocked.start();
+
+        CountingAsyncAppender appender = new CountingAsyncAppender();
+        appender.setContext(context);
+        appender.setName("test-" + System.nanoTime());
+        appender.setQueueSize(5);
+        appender.setDiscardingThreshold(2);
+        appender.setNeverBlock(true);
+        appender.addAppender(blocked);
+        appender.start();
+
+        Logger logger = context.getLogger("test");
+        logger.setLevel(Level.DEBUG);
+        logger.addAppender(appender);
+
+        // 第一条被工作线程取出并阻塞在下游
+        logger.warn("first");
+        assertTrue(firstTaken.await(5, TimeUnit.SECONDS));
+
+        // 剩余容量低于 2 后 INFO 被丢弃，WARN 继续入队直到队列满
+        for (int i = 0; i < 4; i++) {
+            logger.info("queued {}", i);
+        }
+        logger.info("discarded");
+        logger.warn("queued");
+        long startedAt = System.nanoTime();
+        logger.warn("overflow");
+        assertTrue(System.nanoTime() - startedAt < TimeUnit.SECONDS.toNanos(1));
+
+        CountingAsyncAppender.Stats stats = CountingAsyncAppender.stats().get(appender.getName());
+        assertEquals(1, stats.discarded());
+        assertEquals(1, stats.overflowed());
+        assertEquals(5, stats.queueSize());
+    }
+
+    @Test
+    void samplerLimitsPermitsPerWindow() {
+        LogSampler sampler = LogSampler.perSecond(3);
+
+        int permitted = 0;
+        for (int i = 0; i < 100; i++) {
+            if (sampler.tryAcquire()) {
+                permitted++;
+            }
+        }
+
+        assertEquals(3, permitted);
+    }
+}
@@ -0,0 +1,21 @@
+package com.tiantianai.shared.security;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CalibratedPasswordEncoderTests {
+
+    @Test
+    void upgradesOnlyWhenStoredCostIsLower() {
+        String cost4 = new CalibratedPasswordEncoder(4).encode("123456");
+        String cost5 = new CalibratedPasswordEncoder(5).encode("123456");
+        CalibratedPasswordEncoder encoder = new CalibratedPasswordEncoder(5);
+
+        assertTrue(encoder.upgradeEncoding(cost4));
+        assertFalse(encoder.upgradeEncoding(cost5));
+        // 校准结果较低的节点不会把高 cost 哈希降级
+        assertFalse(new CalibratedPasswordEncoder(4).upgradeEncoding(cost5));
+        assertTrue(encoder.upgradeEncoding(cost5.replaceFirst("^\\$2a", "\\$2b")));
+    }
+}
@@ -0,0 +1,54 @@
+package com.tiantianai.shared.security;
+
+import com.tiantianai.shared.config.JwtProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TokenDenylistTests {
+
+    private final TokenDenylist denylist = new TokenDenylist(new JwtProperties(), new SimpleMeterRegistry());
+
+    @Test
+    void revokedTokenIsDetected() {
+        String tokenId = UUID.randomUUID().toString();
+        assertFalse(denylist.isRevoked(tokenId));
+
+        denylist.add(tokenId, Instant.now().plusSeconds(60));
+
+        assertTrue(denylist.isRevoked(tokenId));
+        assertFalse(denylist.isRevoked(UUID.randomUUID().toString()));
+        assertFalse(denylist.isRevoked(null));
+    }
+
+    @Test
+    void expiredEntriesArePurgedAndStillLiveOnesSurviveRebuild() {
+        String live = UUID.randomUUID().toString();
+        String expiring = UUID.randomUUID().toString();
+        denylist.add(live, Instant.now().plusSeconds(60));
+        denylist.add(expiring, Instant.now().plusMillis(20));
+
+        await(Instant.now().plusMillis(50));
+
+        assertFalse(denylist.isRevoked(expiring));
+        assertEquals(1, denylist.purgeExpired());
+        assertEquals(1, denylist.size());
+        assertTrue(denylist.isRevoked(live));
+    }
+
+    @Test
+    void alreadyExpiredTokensAreIgnored() {
+        denylist.add(UUID.randomUUID().toString(), Instant.now().minusSeconds(1));
+        assertEquals(0, denylist.size());
+    }
+
+    private static void await(Instant until) {
+        while (Instant.now().isBefore(until)) {
+            Thread.onSpinWait();
+        }
+    }
+}
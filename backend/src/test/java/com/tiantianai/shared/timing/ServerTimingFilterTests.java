@@ -0,0 +1,47 @@
+package com.tiantianai.shared.timing;
+
+import com.tiantianai.shared.config.ServerTimingProperties;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ServerTimingFilterTests {
+
+    private final ServerTimingProperties properties = new ServerTimingProperties();
+    private final ServerTimingFilter filter = new ServerTimingFilter(properties);
+
+    @Test
+    void disabledRequestsAreNotTimed() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/user/info"), response,
+                (req, res) -> assertNull(RequestTiming.current()));
+
+        assertNull(response.getHeader(ServerTimingFilter.HEADER_NAME));
+    }
+
+    @Test
+    void recordedPhasesAreWrittenToHeader() throws Exception {
+        properties.setEnabled(true);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/user/info"), response, (req, res) -> {
+            RequestTiming.recordCurrent(RequestTiming.Phase.JWT, TimeUnit.MICROSECONDS.toNanos(250));
+            RequestTiming.current().handlerStarted();
+            RequestTiming.recordCurrent(RequestTiming.Phase.DB, TimeUnit.MILLISECONDS.toNanos(1));
+            RequestTiming.recordCurrent(RequestTiming.Phase.DB, TimeUnit.MILLISECONDS.toNanos(2));
+        });
+
+        String value = response.getHeader(ServerTimingFilter.HEADER_NAME);
+        assertNotNull(value);
+        assertTrue(value.startsWith("jwt;dur=0.25, app;dur="), value);
+        assertTrue(value.contains("db;dur=3.0;desc=\"2 calls\""), value);
+        assertFalse(value.contains("ser;"), value);
+        assertTrue(value.contains("total;dur="), value);
+        assertNull(RequestTiming.current());
+    }
+}
@@ -0,0 +1,226 @@
+package com.tiantianai.user.service;
+
+import com.tiantianai.shared.config.UserImportProperties;
+import com.tiantianai.shared.exception.BusinessException;
+import com.tiantianai.shared.exception.ErrorCode;
+import com.tiantianai.user.dto.UserImportResponse;
+import com.tiantianai.user.model.User;
+import com.tiantianai.user.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class UserImportServiceTests {
+
+    @TempDir
+    Path directory;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private RoleRegistry roleRegistry;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private UserImportService service;
+
+    @BeforeEach
+    void setUp() {
+        UserImportProperties properties = new UserImportProperties();
+        properties.setChunkSize(2);
+        properties.setHashThreads(2);
+        properties.setDirectory(directory);
+        service = new UserImportService(jdbcTemplate, transactionManager, passwordEncoder, roleRegistry, properties);
+    }
+
+    @Test
+    void importsUsersAndSkipsExistingUsernames() throws Exception {
+        Path file = Files.writeString(directory.resolve("users.csv"), """
+                \uFEFFusername,password,real_name,homePath,roles,enabled
+                import-a,secret-a,"Smith, Ann",/dashboard,admin|user,
+                vben,ignored,,,,
+                import-b,"pa""ss
+                word",,,user,false
+
+                import-a,duplicate,,,,
+                """);
+
+        UserImportResponse result = service.importFile("import-basic", file);
+
+        assertEquals("COMPLETED", result.getStatus());
+        assertEquals(4, result.getProcessedRows());
+        assertEquals(2, result.getImportedCount());
+        assertEquals(2, result.getSkippedCount());
+
+        User a = userRepository.findByUsername("import-a").orElseThrow();
+        assertEquals("Smith, Ann", a.getRealName());
+        assertEquals("/dashboard", a.getHomePath());
+        assertTrue(a.getEnabled());
+        assertEquals(Set.of("admin", "user"), roleRegistry.rolesOf(a.getRoleMask()));
+        assertTrue(passwordEncoder.matches("secret-a", a.getPassword()));
+
+        User b = userRepository.findByUsername("import-b").orElseThrow();
+        assertFalse(b.getEnabled());
+        assertTrue(passwordEncoder.matches("pa\"ss\nword", b.getPassword()));
+
+        // 已完成的任务重复执行不会再导入
+        assertEquals(2, service.importFile("import-basic", file).getImportedCount());
+    }
+
+    @Test
+    void resumesFromLastCommittedChunk() throws Exception {
+        Path file = directory.resolve("resume.csv");
+        Files.writeString(file, """
+                username,password
+                resume-1,p1
+                resume-2,p2
+                resume-3,p3
+                resume-4,p4
+                resume-5,
+                resume-6,p6
+                """);
+
+        assertThrows(IllegalArgumentException.class, () -> service.importFile("import-resume", file));
+        UserImportResponse failed = service.getStatus("import-resume");
+        assertEquals("FAILED", failed.getStatus());
+        assertEquals(4, failed.getProcessedRows());
+        assertTrue(failed.getErrorMessage().startsWith("第 5 行"));
+        assertTrue(userRepository.existsByUsername("resume-4"));
+        assertFalse(userRepository.existsByUsername("resume-6"));
+
+        // 修正出错的行后重新执行，已提交的行不再处理
+        Files.writeString(file, Files.readString(file).replace("resume-5,", "resume-5,p5")
+                .replace("resume-1,p1", "resume-1,changed"));
+        UserImportResponse resumed = service.importFile("import-resume", file);
+        assertEquals("COMPLETED", resumed.getStatus());
+        assertEquals(6, resumed.getProcessedRows());
+        assertEquals(6, resumed.getImportedCount());
+        assertEquals(0, resumed.getSkippedCount());
+        assertTrue(passwordEncoder.matches("p1",
+                userRepository.findByUsername("resume-1").orElseThrow().getPassword()));
+        assertTrue(passwordEncoder.matches("p5",
+                userRepository.findByUsername("resume-5").orElseThrow().getPassword()));
+    }
+
+    @Test
+    void rejectsUnknownRolesWithoutRegisteringThem() throws Exception {
+        Path file = Files.writeString(directory.resolve("roles.csv"), """
+                username,password,roles
+                roles-1,p1,user
+                roles-2,p2,user|no-such-role
+                """);
+
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> service.importFile("import-roles", file));
+
+        assertEquals("第 2 行: 未知角色 no-such-role", e.getMessage());
+        assertEquals(-1, roleRegistry.bitOf("no-such-role"));
+        assertFalse(userRepository.existsByUsername("roles-1"));
+        assertEquals("FAILED", service.getStatus("import-roles").getStatus());
+    }
+
+    @Test
+    void jobRunningElsewhereIsNotClaimedUntilStale() throws Exception {
+        Path file = Files.writeString(directory.resolve("claim.csv"), """
+                username,password
+                claim-1,p1
+                """);
+        // 模拟其他实例刚刚开始执行同一任务
+        jdbcTemplate.update("INSERT INTO user_import_jobs (id, status, processed_rows, imported_count, "
+                + "skipped_count, created_at, updated_at) VALUES ('import-claim', 'RUNNING', 0, 0, 0, ?, ?)",
+                Timestamp.valueOf(LocalDateTime.now()), Timestamp.valueOf(LocalDateTime.now()));
+
+        BusinessException e = assertThrows(BusinessException.class, () -> service.importFile("import-claim", file));
+        assertSame(ErrorCode.USER_IMPORT_RUNNING, e.getErrorCode());
+        assertFalse(userRepository.existsByUsername("claim-1"));
+
+        // 超过 stale-after 未推进，视为执行进程已退出
+        jdbcTemplate.update("UPDATE user_import_jobs SET updated_at = ? WHERE id = 'import-claim'",
+                Timestamp.valueOf(LocalDateTime.now().minusHours(1)));
+        assertEquals("COMPLETED", service.importFile("import-claim", file).getStatus());
+    }
+
+    @Test
+    void submittedJobIsQueuedUntilWorkerStarts() throws Exception {
+        // 模拟其他实例刚刚排队的任务：未超时前不能接管
+        jdbcTemplate.update("INSERT INTO user_import_jobs (id, status, processed_rows, imported_count, "
+                + "skipped_count, created_at, updated_at) VALUES ('import-queued', 'QUEUED', 0, 0, 0, ?, ?)",
+                Timestamp.valueOf(LocalDateTime.now()), Timestamp.valueOf(LocalDateTime.now()));
+        BusinessException e = assertThrows(BusinessException.class,
+                () -> service.submit("import-queued", csv("queued-1,p1")));
+        assertSame(ErrorCode.USER_IMPORT_RUNNING, e.getErrorCode());
+
+        UserImportResponse queued = service.submit("import-submit", csv("submit-1,p1"));
+        assertEquals("QUEUED", queued.getStatus());
+
+        long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+        while (!"COMPLETED".equals(service.getStatus("import-submit").getStatus())) {
+            assertTrue(System.nanoTime() < deadline, "导入任务未在时限内完成");
+            Thread.sleep(20);
+        }
+        assertTrue(userRepository.existsByUsername("submit-1"));
+    }
+
+    @Test
+    void cancelDeletesSpooledFile() throws Exception {
+        Path spool = Files.writeString(directory.resolve("import-cancel.csv"), """
+                username,password
+                cancel-1,
+                """);
+        assertThrows(IllegalArgumentException.class, () -> service.importFile("import-cancel", spool));
+
+        UserImportResponse cancelled = service.cancel("import-cancel");
+
+        assertEquals("FAILED", cancelled.getStatus());
+        assertEquals("已取消", cancelled.getErrorMessage());
+        assertFalse(Files.exists(spool));
+        BusinessException e = assertThrows(BusinessException.class, () -> service.resume("import-cancel"));
+        assertSame(ErrorCode.USER_IMPORT_FILE_MISSING, e.getErrorCode());
+    }
+
+    @Test
+    void purgeDeletesExpiredSpools() throws Exception {
+        Path expired = Files.writeString(directory.resolve("old-job.csv"), "username,password\n");
+        Files.setLastModifiedTime(expired, FileTime.from(Instant.now().minus(Duration.ofDays(2))));
+        Path recent = Files.writeString(directory.resolve("new-job.csv"), "username,password\n");
+
+        service.purgeExpiredSpools();
+
+        assertFalse(Files.exists(expired));
+        assertTrue(Files.exists(recent));
+    }
+
+    private static InputStream csv(String row) {
+        return new ByteArrayInputStream(("username,password\n" + row + "\n").getBytes(StandardCharsets.UTF_8));
+    }
+}
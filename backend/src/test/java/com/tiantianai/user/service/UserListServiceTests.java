@@ -0,0 +1,169 @@
+package com.tiantianai.user.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tiantianai.shared.config.UserExportProperties;
+import com.tiantianai.shared.exception.BusinessException;
+import com.tiantianai.shared.exception.ErrorCode;
+import com.tiantianai.user.dto.UserPageResponse;
+import com.tiantianai.user.dto.UserSummaryResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class UserListServiceTests {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2020, 1, 1, 0, 0);
+
+    @Autowired
+    private UserListService service;
+
+    @Autowired
+    private RoleRegistry roleRegistry;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    /**
+     * 按插入顺序排列的测试用户名，只有这些用户拥有 list-role
+     */
+    private final List<String> usernames = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("DELETE FROM users WHERE username LIKE 'list-%'");
+        long mask = roleRegistry.maskOf(Set.of("list-role", "user"));
+        // 第 2、3 个用户创建时间相同，用于验证同一时间的翻页
+        int[] minutes = {0, 5, 5, 9, 12};
+        for (int i = 0; i < minutes.length; i++) {
+            String username = "list-" + i;
+            jdbcTemplate.update("INSERT INTO users (username, password, real_name, role_mask, enabled, version, "
+                            + "created_at, updated_at) VALUES (?, 'x', ?, ?, ?, 0, ?, ?)",
+                    username, i == 1 ? "Smith, \"A\"" : i == 4 ? "=1+2" : "User " + i, mask, i != 3,
+                    Timestamp.valueOf(BASE.plusMinutes(minutes[i])), Timestamp.valueOf(BASE));
+            usernames.add(username);
+        }
+    }
+
+    @Test
+    void pagesByIdAndCreatedAt() {
+        assertEquals(usernames, collect(null, UserListService.Sort.ID));
+        assertEquals(List.of("list-4", "list-3", "list-2", "list-1", "list-0"), collect(null, UserListService.Sort.CREATED_AT));
+        assertEquals(List.of("list-0", "list-1", "list-2", "list-4"), collect(true, UserListService.Sort.ID));
+
+        UserPageResponse page = service.list(null, "list-role", UserListService.Sort.ID, null, 1000);
+        assertEquals(5, page.getItems().size());
+        assertNull(page.getNextCursor());
+        assertTrue(page.getItems().get(0).getRoles().contains("list-role"));
+
+        assertTrue(service.list(null, "no-such-role", UserListService.Sort.ID, null, 10).getItems().isEmpty());
+        String cursor = service.list(null, "list-role", UserListService.Sort.ID, null, 1).getNextCursor();
+        assertThrows(BusinessException.class,
+                () -> service.list(null, "list-role", UserListService.Sort.CREATED_AT, cursor, 1));
+        assertThrows(BusinessException.class,
+                () -> service.list(null, "list-role", UserListService.Sort.ID, "not-a-cursor", 1));
+    }
+
+    @Test
+    void exportsCsvAndNdjson() throws Exception {
+        ByteArrayOutputStream csv = new ByteArrayOutputStream();
+        service.export(false, "list-role", UserListService.ExportFormat.CSV, csv);
+        String[] lines = csv.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals("\uFEFFid,username,realName,homePath,roles,enabled,createdAt", lines[0]);
+        assertEquals(2, lines.length);
+        assertTrue(lines[1].matches("\\d+,list-3,User 3,,(user\\|list-role|list-role\\|user),false,2020-01-01T00:09"),
+                lines[1]);
+
+        // 公式字符开头的值加单引号
+        ByteArrayOutputStream all = new ByteArrayOutputStream();
+        service.export(true, "list-role", UserListService.ExportFormat.CSV, all);
+        assertTrue(all.toString(StandardCharsets.UTF_8).contains(",list-4,'=1+2,,"));
+
+        ByteArrayOutputStream ndjson = new ByteArrayOutputStream();
+        service.export(null, "list-role", UserListService.ExportFormat.NDJSON, ndjson);
+        String[] records = ndjson.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(5, records.length);
+        JsonNode second = objectMapper.readTree(records[1]);
+        assertEquals("Smith, \"A\"", second.get("realName").asText());
+        assertFalse(second.has("password"));
+        UserSummaryResponse first = objectMapper.readValue(records[0], UserSummaryResponse.class);
+        assertEquals("list-0", first.getUsername());
+    }
+
+    @Test
+    void rejectsExportsBeyondConcurrencyLimit() throws Exception {
+        UserExportProperties properties = new UserExportProperties();
+        properties.setMaxConcurrent(1);
+        UserListService limited = new UserListService(jdbcTemplate, roleRegistry, objectMapper, properties);
+
+        CountDownLatch writing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        OutputStream slowClient = new OutputStream() {
+            @Override
+            public void write(int b) {
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) {
+                writing.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        };
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<?> first = executor.submit(() -> {
+                limited.export(null, "list-role", UserListService.ExportFormat.CSV, slowClient);
+                return null;
+            });
+            assertTrue(writing.await(5, TimeUnit.SECONDS));
+
+            BusinessException e = assertThrows(BusinessException.class, () -> limited.export(
+                    null, "list-role", UserListService.ExportFormat.CSV, new ByteArrayOutputStream()));
+            assertSame(ErrorCode.USER_EXPORT_BUSY, e.getErrorCode());
+
+            release.countDown();
+            first.get(5, TimeUnit.SECONDS);
+            // 前一个导出结束后许可归还
+            limited.export(null, "list-role", UserListService.ExportFormat.CSV, new ByteArrayOutputStream());
+        } finally {
+            release.countDown();
+            executor.shutdownNow();
+        }
+    }
+
+    private List<String> collect(Boolean enabled, UserListService.Sort sort) {
+        List<String> result = new ArrayList<>();
+        String cursor = null;
+        do {
+            UserPageResponse page = service.list(enabled, "list-role", sort, cursor, 2);
+            assertTrue(page.getItems().size() <= 2);
+            page.getItems().forEach(user -> result.add(user.getUsername()));
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+        return result;
+    }
+}